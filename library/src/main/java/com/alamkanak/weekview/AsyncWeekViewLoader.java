@@ -0,0 +1,33 @@
+package com.alamkanak.weekview;
+
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * Provides the events of each period asynchronously. Setting it with
+ * {@link WeekView#setAsyncWeekViewLoader(AsyncWeekViewLoader)} enables the asynchronous loading of
+ * the week view, which cannot be disabled while this loader is set.
+ */
+public interface AsyncWeekViewLoader {
+    /**
+     * Convert a date into a double that will be used to reference when you're loading data.
+     *
+     * All periods that have the same integer part, define one period. Dates that are later in time
+     * should have a greater return value.
+     *
+     * @param instance the date
+     * @return The period index in which the date falls (floating point number).
+     */
+    double toWeekViewPeriodIndex(Calendar instance);
+
+    /**
+     * Start loading the events within the period. This method is called from the background
+     * thread of the week view, so it may block, and the returned future may be completed from any
+     * thread.
+     *
+     * @param periodIndex the period to load
+     * @return A future which resolves to the events of this period
+     */
+    Future<? extends List<? extends WeekViewEvent>> onLoadAsync(int periodIndex);
+}
@@ -0,0 +1,55 @@
+package com.alamkanak.weekview;
+
+import android.support.v4.util.LruCache;
+
+/**
+ * A snapshot of the counters of one of the caches of the week view.
+ */
+public class CacheStats {
+    private final int mHitCount;
+    private final int mMissCount;
+    private final int mEvictionCount;
+    private final int mSize;
+    private final int mMaxSize;
+
+    public CacheStats(int hitCount, int missCount, int evictionCount, int size, int maxSize) {
+        this.mHitCount = hitCount;
+        this.mMissCount = missCount;
+        this.mEvictionCount = evictionCount;
+        this.mSize = size;
+        this.mMaxSize = maxSize;
+    }
+
+    static CacheStats of(LruCache<?, ?> cache) {
+        return new CacheStats(cache.hitCount(), cache.missCount(), cache.evictionCount(), cache.size(), cache.maxSize());
+    }
+
+    static CacheStats of(LongLruCache<?> cache) {
+        return new CacheStats(cache.hitCount(), cache.missCount(), cache.evictionCount(), cache.size(), cache.maxSize());
+    }
+
+    public int getHitCount() {
+        return mHitCount;
+    }
+
+    public int getMissCount() {
+        return mMissCount;
+    }
+
+    public int getEvictionCount() {
+        return mEvictionCount;
+    }
+
+    public int getSize() {
+        return mSize;
+    }
+
+    public int getMaxSize() {
+        return mMaxSize;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hits=" + mHitCount + ", misses=" + mMissCount + ", evictions=" + mEvictionCount + ", size=" + mSize + "/" + mMaxSize + "}";
+    }
+}
@@ -0,0 +1,116 @@
+package com.alamkanak.weekview;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * The days on which an event is drawn, computed with plain arithmetic on its times. An event which
+ * expands more than one day is drawn until 23:59 on its first day, all day long on the days in
+ * between and from midnight on its last day. The times of each day are only computed for the days
+ * which are actually drawn, so a long event costs no more than the days in view.
+ *
+ * A span is immutable and computed once for the times of a {@link WeekViewEvent}, which keeps it
+ * until its times change.
+ */
+class DaySpan {
+    final long startMillis;
+    final long endMillis;
+    final TimeZone timeZone;
+    final int startDay;
+    final int endDay;
+    final int startMinuteOfDay;
+    final long firstDayEndMillis;
+
+    private DaySpan(long startMillis, long endMillis, TimeZone timeZone, int startDay, int endDay, int startMinuteOfDay, long firstDayEndMillis) {
+        this.startMillis = startMillis;
+        this.endMillis = endMillis;
+        this.timeZone = timeZone;
+        this.startDay = startDay;
+        this.endDay = endDay;
+        this.startMinuteOfDay = startMinuteOfDay;
+        this.firstDayEndMillis = firstDayEndMillis;
+    }
+
+    /**
+     * Compute the days of an event.
+     *
+     * @param startMillis The start of the event.
+     * @param endMillis   The end of the event, after its start.
+     * @param calendar    A calendar in the time zone of the event, which is modified.
+     * @return The span.
+     */
+    static DaySpan of(long startMillis, long endMillis, Calendar calendar) {
+        // The first millisecond of the next day is still the same day.
+        calendar.setTimeInMillis(endMillis - 1);
+        int endDay = WeekViewUtil.toEpochDay(calendar);
+        calendar.setTimeInMillis(startMillis);
+        int startDay = WeekViewUtil.toEpochDay(calendar);
+        int startMinuteOfDay = WeekViewUtil.toMinuteOfDay(calendar);
+        long firstDayEndMillis = endMillis;
+
+        if (startDay != endDay) {
+            calendar.set(Calendar.HOUR_OF_DAY, 23);
+            calendar.set(Calendar.MINUTE, 59);
+            firstDayEndMillis = calendar.getTimeInMillis();
+        }
+
+        return new DaySpan(startMillis, endMillis, calendar.getTimeZone(), startDay, endDay, startMinuteOfDay, firstDayEndMillis);
+    }
+
+    /**
+     * @return Whether the span was computed for the given times.
+     */
+    boolean matches(long startMillis, long endMillis, TimeZone timeZone) {
+        return this.startMillis == startMillis && this.endMillis == endMillis && (this.timeZone == timeZone || this.timeZone.getID().equals(timeZone.getID()));
+    }
+
+    boolean isSingleDay() {
+        return startDay == endDay;
+    }
+
+    /**
+     * Get the time at which the event is drawn from on one of its days.
+     *
+     * @param day      The epoch day, between the first and the last day of the span.
+     * @param calendar A calendar in the time zone of the span, which is modified.
+     * @return The start of the event on the day.
+     */
+    long getDayStartMillis(int day, Calendar calendar) {
+        if (day == startDay) {
+            return startMillis;
+        }
+
+        calendar.setTimeInMillis(startMillis);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        calendar.add(Calendar.DATE, day - startDay);
+
+        return calendar.getTimeInMillis();
+    }
+
+    /**
+     * Get the time until which the event is drawn on one of its days.
+     *
+     * @param day      The epoch day, between the first and the last day of the span.
+     * @param calendar A calendar in the time zone of the span, which is modified.
+     * @return The end of the event on the day.
+     */
+    long getDayEndMillis(int day, Calendar calendar) {
+        if (day == startDay) {
+            return firstDayEndMillis;
+        }
+
+        if (day == endDay) {
+            return endMillis;
+        }
+
+        // Leaves the calendar at the start of the day.
+        getDayStartMillis(day, calendar);
+        calendar.set(Calendar.HOUR_OF_DAY, 23);
+        calendar.set(Calendar.MINUTE, 59);
+
+        return calendar.getTimeInMillis();
+    }
+}
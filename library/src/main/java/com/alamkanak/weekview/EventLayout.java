@@ -0,0 +1,240 @@
+package com.alamkanak.weekview;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Computes the positions of the events of a day, placing overlapping events side by side. The
+ * layout only depends on the times of the events, so it is kept apart from the view.
+ */
+class EventLayout {
+
+    private EventLayout() {
+    }
+
+    /**
+     * Calculates the left and right positions of each events. This comes handy specially if events
+     * are overlapping.
+     *
+     * @param items        The events of a day.
+     * @param allDayHeight The height of an all day event, in pixels.
+     * @param result       The list to add the positioned events to.
+     */
+    static <T extends Item> void computePositions(List<T> items, float allDayHeight, List<T> result) {
+        // The sweep below needs the events in order of their start.
+        if (!isSortedByStart(items)) {
+            items = new ArrayList<>(items);
+            Collections.sort(items, new Comparator<Item>() {
+                @Override
+                public int compare(Item item1, Item item2) {
+                    long start1 = item1.startMillis;
+                    long start2 = item2.startMillis;
+
+                    return start1 > start2 ? 1 : (start1 < start2 ? -1 : 0);
+                }
+            });
+        }
+
+        // Make "collision groups" for all events that collide with others. As the events are sorted
+        // by start, an event can only collide with the last group of its kind (all day or not),
+        // namely when it starts before the end of that group.
+        List<List<T>> collisionGroups = new ArrayList<List<T>>();
+        List<T> collisionGroup = null;
+        List<T> allDayCollisionGroup = null;
+        long collisionGroupEnd = 0;
+        long allDayCollisionGroupEnd = 0;
+
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            long start = item.startMillis;
+            long end = item.endMillis;
+
+            if (item.allDay) {
+                if (allDayCollisionGroup == null || start >= allDayCollisionGroupEnd) {
+                    allDayCollisionGroup = new ArrayList<T>();
+                    collisionGroups.add(allDayCollisionGroup);
+                }
+
+                allDayCollisionGroup.add(item);
+                allDayCollisionGroupEnd = Math.max(allDayCollisionGroupEnd, end);
+            } else {
+                if (collisionGroup == null || start >= collisionGroupEnd) {
+                    collisionGroup = new ArrayList<T>();
+                    collisionGroups.add(collisionGroup);
+                }
+
+                collisionGroup.add(item);
+                collisionGroupEnd = Math.max(collisionGroupEnd, end);
+            }
+        }
+
+        for (int i = 0; i < collisionGroups.size(); i++) {
+            expandToMaxWidth(collisionGroups.get(i), allDayHeight, result);
+        }
+    }
+
+    /**
+     * Checks if the events are in ascending order of their start.
+     *
+     * @param items The events.
+     * @return true if no event starts before its predecessor.
+     */
+    private static boolean isSortedByStart(List<? extends Item> items) {
+        for (int i = 1; i < items.size(); i++) {
+            if (items.get(i).startMillis < items.get(i - 1).startMillis) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Expands all the events to maximum possible width. The events will try to occupy maximum
+     * space available horizontally.
+     *
+     * @param collisionGroup The group of events which overlap with each other, sorted by start.
+     * @param allDayHeight   The height of an all day event, in pixels.
+     * @param result         The list to add the positioned events to.
+     */
+    private static <T extends Item> void expandToMaxWidth(List<T> collisionGroup, float allDayHeight, List<T> result) {
+        // Put each event into the first column of which the last event has ended. As the events are
+        // sorted by start, a column stays free from the moment its last event ended until it gets a
+        // new event. The busy columns are ordered by their end and the free ones by their position.
+        List<List<T>> columns = new ArrayList<List<T>>();
+        final long[] columnEnds = new long[collisionGroup.size()];
+        PriorityQueue<Integer> busyColumns = new PriorityQueue<>(collisionGroup.size(), new Comparator<Integer>() {
+            @Override
+            public int compare(Integer column1, Integer column2) {
+                long end1 = columnEnds[column1];
+                long end2 = columnEnds[column2];
+
+                return end1 > end2 ? 1 : (end1 < end2 ? -1 : 0);
+            }
+        });
+        PriorityQueue<Integer> freeColumns = new PriorityQueue<>();
+
+        for (int i = 0; i < collisionGroup.size(); i++) {
+            T item = collisionGroup.get(i);
+            long start = item.startMillis;
+
+            while (!busyColumns.isEmpty() && columnEnds[busyColumns.peek()] <= start) {
+                freeColumns.add(busyColumns.poll());
+            }
+
+            int column;
+
+            if (freeColumns.isEmpty()) {
+                column = columns.size();
+                columns.add(new ArrayList<T>());
+            } else {
+                column = freeColumns.poll();
+            }
+
+            columns.get(column).add(item);
+            columnEnds[column] = item.endMillis;
+            busyColumns.add(column);
+        }
+
+        // Calculate left and right position for all the events.
+        // Get the maxRowCount by looking in all columns.
+        int maxRowCount = 0;
+
+        for (List<T> column : columns) {
+            maxRowCount = Math.max(maxRowCount, column.size());
+        }
+
+        // Overlapping timed events form a cluster, which may be drawn as a single block.
+        Cluster cluster = null;
+
+        if (columns.size() > 1 && !collisionGroup.get(0).allDay) {
+            Item firstItem = collisionGroup.get(0);
+            long end = firstItem.endMillis;
+
+            for (int i = 1; i < collisionGroup.size(); i++) {
+                end = Math.max(end, collisionGroup.get(i).endMillis);
+            }
+
+            cluster = new Cluster(firstItem, collisionGroup.size(), columns.size(), firstItem.startMinuteOfDay, (int) ((end - firstItem.startMillis) / WeekViewUtil.MINUTE_IN_MILLIS));
+        }
+
+        for (int i = 0; i < maxRowCount; i++) {
+            // Set the left and right values of the event.
+            float j = 0;
+
+            for (List<T> column : columns) {
+                if (column.size() >= i + 1) {
+                    T item = column.get(i);
+                    item.width = 1f / columns.size();
+                    item.left = j / columns.size();
+                    item.cluster = cluster;
+
+                    if (!item.allDay) {
+                        item.top = item.startMinuteOfDay;
+                        item.bottom = (int) ((item.endMillis - item.startMillis) / WeekViewUtil.MINUTE_IN_MILLIS);
+                    } else {
+                        item.top = 0;
+                        item.bottom = allDayHeight;
+                    }
+
+                    result.add(item);
+                }
+
+                j++;
+            }
+        }
+    }
+
+    /**
+     * An event of a day along with its position. The left position and the width are fractions
+     * of the width of the day, the top and the height ("bottom") of a timed event are in minutes.
+     */
+    static class Item {
+        final long startMillis;
+        final long endMillis;
+        final int startMinuteOfDay;
+        final boolean allDay;
+        Cluster cluster;
+        float left;
+        float width;
+        float top;
+        float bottom;
+
+        /**
+         * @param startMillis      The start of the event on its day.
+         * @param endMillis        The end of the event on its day.
+         * @param startMinuteOfDay The minute of the day at which the event starts.
+         * @param allDay           Whether the event is an all day event.
+         */
+        Item(long startMillis, long endMillis, int startMinuteOfDay, boolean allDay) {
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+            this.startMinuteOfDay = startMinuteOfDay;
+            this.allDay = allDay;
+        }
+    }
+
+    /**
+     * A group of overlapping timed events of a day, which is drawn as a single block with the
+     * number of events when its columns are too narrow. The position is in minutes, just like the
+     * position of an event.
+     */
+    static class Cluster {
+        final Item firstItem;
+        final int columnCount;
+        final int top;
+        final int bottom;
+        final String label;
+
+        Cluster(Item firstItem, int eventCount, int columnCount, int top, int bottom) {
+            this.firstItem = firstItem;
+            this.columnCount = columnCount;
+            this.top = top;
+            this.bottom = bottom;
+            this.label = String.valueOf(eventCount);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.alamkanak.weekview;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Puts the loaded events in order of their start, and of their end for events which start at the
+ * same time, without modifying the lists of the loader. The order only depends on the times of
+ * the events, so it is kept apart from the view.
+ */
+class EventOrder {
+
+    private EventOrder() {
+    }
+
+    /**
+     * Get the order of events by their start, and by their end for events which start at the same
+     * time. The times of the events are read from their calendars first. A linear pass finds
+     * events which are in order already, others are ordered by sorting their indexes on the
+     * times, so that the list itself is never modified.
+     *
+     * @param events The events.
+     * @return The indexes of the events in sorted order, or null if the events are in order.
+     */
+    static int[] getSortedOrder(List<? extends WeekViewEvent> events) {
+        if (events instanceof WeekViewEventStore) {
+            return ((WeekViewEventStore) events).getSortedOrder();
+        }
+
+        int size = events.size();
+        boolean isSorted = true;
+
+        // The calendars of the events may have been modified since their times were set.
+        for (int i = 0; i < size; i++) {
+            events.get(i).updateTimes();
+        }
+
+        for (int i = 1; i < size && isSorted; i++) {
+            WeekViewEvent previous = events.get(i - 1);
+            WeekViewEvent event = events.get(i);
+            long previousStart = previous.getStartTimeInMillis();
+            long start = event.getStartTimeInMillis();
+            isSorted = previousStart < start || (previousStart == start && previous.getEndTimeInMillis() <= event.getEndTimeInMillis());
+        }
+
+        if (isSorted) {
+            return null;
+        }
+
+        int[] order = new int[size];
+        long[] startTimes = new long[size];
+        long[] endTimes = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            WeekViewEvent event = events.get(i);
+            order[i] = i;
+            startTimes[i] = event.getStartTimeInMillis();
+            endTimes[i] = event.getEndTimeInMillis();
+        }
+
+        WeekViewUtil.sortIndexes(order, startTimes, endTimes);
+
+        return order;
+    }
+
+    /**
+     * Get a sorted copy of the events of a period, or the same events if they are in order
+     * already. Stores keep their own order.
+     *
+     * @param events The events.
+     * @return The events in order of their start.
+     */
+    static List<? extends WeekViewEvent> toSortedEvents(List<? extends WeekViewEvent> events) {
+        int[] order = getSortedOrder(events);
+
+        if (order == null || events instanceof WeekViewEventStore) {
+            return events;
+        }
+
+        List<WeekViewEvent> sortedEvents = new ArrayList<>(order.length);
+
+        for (int i = 0; i < order.length; i++) {
+            sortedEvents.add(events.get(order[i]));
+        }
+
+        return sortedEvents;
+    }
+
+    static long getStartTimeInMillis(List<? extends WeekViewEvent> events, int index) {
+        if (events instanceof WeekViewEventStore) {
+            return ((WeekViewEventStore) events).getStartTimeInMillis(index);
+        }
+
+        return events.get(index).getStartTimeInMillis();
+    }
+
+    static long getEndTimeInMillis(List<? extends WeekViewEvent> events, int index) {
+        if (events instanceof WeekViewEventStore) {
+            return ((WeekViewEventStore) events).getEndTimeInMillis(index);
+        }
+
+        return events.get(index).getEndTimeInMillis();
+    }
+
+    /**
+     * Walks through the events of several periods in order. The events of each period are put in
+     * order on their own, then the periods are merged by repeatedly taking the earliest of their
+     * next events. Events with the same times are taken from the earlier period first.
+     */
+    static class Merge {
+        private final List<List<? extends WeekViewEvent>> mPeriods;
+        private final int[][] mOrders;
+        private final int[] mPositions;
+        private int mPeriod = -1;
+        private int mIndex = -1;
+
+        /**
+         * @param periods The events of each period.
+         */
+        Merge(List<List<? extends WeekViewEvent>> periods) {
+            int periodCount = periods.size();
+            this.mPeriods = periods;
+            this.mOrders = new int[periodCount][];
+            this.mPositions = new int[periodCount];
+
+            for (int i = 0; i < periodCount; i++) {
+                mOrders[i] = getSortedOrder(periods.get(i));
+            }
+        }
+
+        /**
+         * Move to the next event.
+         *
+         * @return false if all the events have been taken.
+         */
+        boolean next() {
+            // Find the period with the earliest next event. There are only a few periods, so a
+            // linear search is quicker than a heap.
+            int nextPeriod = -1;
+            int nextIndex = -1;
+            long nextStart = 0;
+            long nextEnd = 0;
+
+            for (int i = 0; i < mPeriods.size(); i++) {
+                List<? extends WeekViewEvent> events = mPeriods.get(i);
+
+                if (mPositions[i] >= events.size()) {
+                    continue;
+                }
+
+                int index = mOrders[i] != null ? mOrders[i][mPositions[i]] : mPositions[i];
+                long start = getStartTimeInMillis(events, index);
+                long end = getEndTimeInMillis(events, index);
+
+                if (nextPeriod == -1 || start < nextStart || (start == nextStart && end < nextEnd)) {
+                    nextPeriod = i;
+                    nextIndex = index;
+                    nextStart = start;
+                    nextEnd = end;
+                }
+            }
+
+            mPeriod = nextPeriod;
+            mIndex = nextIndex;
+
+            if (nextPeriod == -1) {
+                return false;
+            }
+
+            mPositions[nextPeriod]++;
+
+            return true;
+        }
+
+        /**
+         * @return The index of the period of the current event.
+         */
+        int getPeriod() {
+            return mPeriod;
+        }
+
+        /**
+         * @return The index of the current event in the list of its period.
+         */
+        int getIndex() {
+            return mIndex;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.alamkanak.weekview;
+
+/**
+ * Fits the title of an event into its rectangle: the title is ellipsized to the largest number of
+ * lines whose wrapped layout fits into the available height. Laying out the text is the costly
+ * part, so the number of lines is not searched by laying out each candidate. If the title
+ * ellipsized to all the available lines wraps into too many lines, the line at which the last
+ * available line starts is read from that layout, and the text which still fits on that line is
+ * measured. That gives the number of lines directly, so that a title is laid out at most twice.
+ * Only if the second layout wraps differently than measured, for example because of a line
+ * break in the title, are fewer lines tried one by one.
+ *
+ * @param <T> The type of a laid out text.
+ */
+abstract class EventTitleFitter<T> {
+
+    /**
+     * Lay out a text.
+     *
+     * @param text  The text.
+     * @param width The width of a line.
+     * @return The laid out text.
+     */
+    abstract T layout(CharSequence text, int width);
+
+    /**
+     * @return The height of a laid out text.
+     */
+    abstract int getHeight(T layout);
+
+    /**
+     * @return The offset in the text at which a line of a laid out text starts.
+     */
+    abstract int getLineStart(T layout, int line);
+
+    /**
+     * Shorten a text at its end, with an ellipsis, so that it is no wider than on a single line.
+     *
+     * @param text  The text.
+     * @param width The width available on a single line.
+     * @return The text, or its start and an ellipsis.
+     */
+    abstract CharSequence ellipsize(CharSequence text, float width);
+
+    /**
+     * @return The width of a part of a text on a single line.
+     */
+    abstract float measure(CharSequence text, int start, int end);
+
+    /**
+     * @return The width of the ellipsis which {@link #ellipsize(CharSequence, float)} appends.
+     */
+    abstract float getEllipsisWidth();
+
+    /**
+     * Lay out a title so that it fits into the available space.
+     *
+     * @param text            The title.
+     * @param availableHeight The height available for the text, at least a line high.
+     * @param availableWidth  The width available for the text.
+     * @param lineHeight      The height of one line of text.
+     * @return The laid out title.
+     */
+    T fit(CharSequence text, int availableHeight, int availableWidth, int lineHeight) {
+        int availableLineCount = availableHeight / lineHeight;
+        T layout = layout(ellipsize(text, availableLineCount * availableWidth), availableWidth);
+
+        if (getHeight(layout) <= availableHeight || availableLineCount <= 0) {
+            return layout;
+        }
+
+        // Wrapping wasted some space. The lines before the last available one stay as they are,
+        // so the title may go on up to where it still fits on that line with the ellipsis.
+        int lineCount = getFittingLineCount(text, getLineStart(layout, availableLineCount - 1), availableLineCount, availableWidth);
+
+        while (true) {
+            layout = layout(ellipsize(text, lineCount * availableWidth), availableWidth);
+
+            if (getHeight(layout) <= availableHeight || lineCount <= 0) {
+                return layout;
+            }
+
+            lineCount--;
+        }
+    }
+
+    /**
+     * Get the largest number of lines to which a title can be ellipsized, so that its last line
+     * fits.
+     *
+     * @param text               The title.
+     * @param lastLineStart      The offset at which the last available line starts.
+     * @param availableLineCount The number of available lines.
+     * @param availableWidth     The width of a line.
+     * @return The number of lines, less than the available number.
+     */
+    private int getFittingLineCount(CharSequence text, int lastLineStart, int availableLineCount, int availableWidth) {
+        float ellipsisWidth = getEllipsisWidth();
+
+        // Find the end of the longest part of the last line which fits before the ellipsis.
+        int low = lastLineStart;
+        int high = text.length();
+
+        while (low < high) {
+            int end = low + (high - low + 1) / 2;
+
+            if (measure(text, lastLineStart, end) + ellipsisWidth <= availableWidth) {
+                low = end;
+            } else {
+                high = end - 1;
+            }
+        }
+
+        int lineCount = availableLineCount - 1;
+
+        if (low < text.length()) {
+            // Ellipsizing to more lines would keep the character after that part too.
+            int maxLineCount = (int) Math.ceil((measure(text, 0, low + 1) + ellipsisWidth) / availableWidth) - 1;
+            lineCount = Math.min(lineCount, maxLineCount);
+        }
+
+        return Math.max(0, lineCount);
+    }
+}
@@ -0,0 +1,43 @@
+package com.alamkanak.weekview;
+
+/**
+ * A snapshot of the counters of the frames drawn by the week view, telling how often a frame had
+ * to update the dimensions or the events before drawing.
+ */
+public class FrameStats {
+    private final int mFrameCount;
+    private final int mGeometryUpdateCount;
+    private final int mDataUpdateCount;
+
+    public FrameStats(int frameCount, int geometryUpdateCount, int dataUpdateCount) {
+        this.mFrameCount = frameCount;
+        this.mGeometryUpdateCount = geometryUpdateCount;
+        this.mDataUpdateCount = dataUpdateCount;
+    }
+
+    /**
+     * @return The number of frames drawn.
+     */
+    public int getFrameCount() {
+        return mFrameCount;
+    }
+
+    /**
+     * @return The number of frames which computed the dimensions again, after the size changed.
+     */
+    public int getGeometryUpdateCount() {
+        return mGeometryUpdateCount;
+    }
+
+    /**
+     * @return The number of frames which loaded the events again, after the data changed.
+     */
+    public int getDataUpdateCount() {
+        return mDataUpdateCount;
+    }
+
+    @Override
+    public String toString() {
+        return "FrameStats{frames=" + mFrameCount + ", geometryUpdates=" + mGeometryUpdateCount + ", dataUpdates=" + mDataUpdateCount + "}";
+    }
+}
@@ -0,0 +1,93 @@
+package com.alamkanak.weekview;
+
+/**
+ * A reused buffer of grid line segments, so that all the grid lines of a frame are drawn with a
+ * single call. The positions of the day separators and the hour lines only depend on the
+ * dimensions of the view, so they are computed apart from it.
+ */
+class GridLines {
+    private float[] mLines = new float[0];
+
+    /**
+     * @return The buffer, in which each line segment takes 4 values: the start x and y and the
+     * end x and y.
+     */
+    float[] getLines() {
+        return mLines;
+    }
+
+    /**
+     * Make sure that the buffer can hold a number of line segments. The buffer only grows.
+     *
+     * @param lineCount The number of line segments.
+     * @return The buffer.
+     */
+    float[] ensureCapacity(int lineCount) {
+        if (mLines.length < lineCount * 4) {
+            mLines = new float[lineCount * 4];
+        }
+
+        return mLines;
+    }
+
+    /**
+     * Compute the day separators and the hour lines of the visible days into the buffer. Columns
+     * which are entirely behind the time column are left out.
+     *
+     * @param startFromPixel The left position of the first day area.
+     * @param columnCount    The number of day columns.
+     * @param widthPerDay    The width of a day column, including the gap.
+     * @param left           The left edge of the day columns, at the right of the time column.
+     * @param gridRadio      Half the thickness of a grid line.
+     * @param height         The height of the view.
+     * @param firstHourTop   The position of midnight.
+     * @param hourHeight     The height of an hour.
+     * @param minHourTop     The position below which the hour lines are drawn, so that they do
+     *                       not touch the time labels.
+     * @return The number of line segments.
+     */
+    int computeDayLines(float startFromPixel, int columnCount, float widthPerDay, float left, float gridRadio, float height, float firstHourTop, float hourHeight, float minHourTop) {
+        float[] lines = ensureCapacity(getMaxDayLineCount(columnCount));
+        int i = 0;
+        float startPixel = startFromPixel;
+
+        for (int column = 0; column < columnCount; column++) {
+            float start = (startPixel < left ? left : startPixel);
+
+            if (startPixel + widthPerDay - start > 0) {
+                // Day separator.
+                lines[i++] = startPixel + widthPerDay - gridRadio;
+                lines[i++] = 0;
+                lines[i++] = startPixel + widthPerDay - gridRadio;
+                lines[i++] = height;
+
+                // Hour lines.
+                for (int hourNumber = 0; hourNumber <= WeekView.HOURS; hourNumber++) {
+                    float top = firstHourTop + hourHeight * hourNumber;
+
+                    if (top > minHourTop && top < height) {
+                        lines[i++] = start;
+                        lines[i++] = top;
+                        lines[i++] = startPixel + widthPerDay;
+                        lines[i++] = top;
+                    }
+                }
+            }
+
+            startPixel += widthPerDay;
+        }
+
+        return i / 4;
+    }
+
+    /**
+     * Get the largest number of line segments of the days: a separator and a line for every hour
+     * per day column.
+     *
+     * @param columnCount The number of day columns.
+     * @return The number of line segments.
+     */
+    static int getMaxDayLineCount(int columnCount) {
+        return columnCount * (WeekView.HOURS + 2);
+    }
+}
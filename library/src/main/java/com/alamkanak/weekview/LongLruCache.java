@@ -0,0 +1,201 @@
+package com.alamkanak.weekview;
+
+import android.support.v4.util.LongSparseArray;
+
+/**
+ * A cache which holds a limited size of values by long keys and drops the least recently used
+ * values first, like {@link android.support.v4.util.LruCache}, but without boxing the keys. The
+ * entries are indexed by key and chained in the order of their use. Not thread-safe.
+ *
+ * @param <V> The type of the values.
+ */
+class LongLruCache<V> {
+    private final LongSparseArray<Entry<V>> mEntries = new LongSparseArray<>();
+    private final int mMaxSize;
+    private int mSize;
+    private int mHitCount;
+    private int mMissCount;
+    private int mEvictionCount;
+
+    // The most and the least recently used entries.
+    private Entry<V> mHead;
+    private Entry<V> mTail;
+
+    /**
+     * @param maxSize The maximum sum of the sizes of the values.
+     */
+    LongLruCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize <= 0");
+        }
+
+        this.mMaxSize = maxSize;
+    }
+
+    /**
+     * Get the value of a key and make it the most recently used one.
+     *
+     * @param key The key.
+     * @return The value, or null if it is not cached.
+     */
+    final V get(long key) {
+        Entry<V> entry = mEntries.get(key);
+
+        if (entry == null) {
+            mMissCount++;
+
+            return null;
+        }
+
+        mHitCount++;
+        unlink(entry);
+        linkFirst(entry);
+
+        return entry.value;
+    }
+
+    /**
+     * Cache a value as the most recently used one, and drop the least recently used values until
+     * the cache fits its maximum size.
+     *
+     * @param key   The key.
+     * @param value The value.
+     */
+    final void put(long key, V value) {
+        remove(key);
+
+        Entry<V> entry = new Entry<>(key, value);
+        mEntries.put(key, entry);
+        linkFirst(entry);
+        mSize += sizeOf(key, value);
+
+        while (mSize > mMaxSize && mTail != null) {
+            Entry<V> eldest = mTail;
+            removeEntry(eldest);
+            mEvictionCount++;
+            entryRemoved(eldest.key, eldest.value);
+        }
+    }
+
+    /**
+     * Drop the value of a key.
+     *
+     * @param key The key.
+     */
+    final void remove(long key) {
+        Entry<V> entry = mEntries.get(key);
+
+        if (entry != null) {
+            removeEntry(entry);
+            entryRemoved(entry.key, entry.value);
+        }
+    }
+
+    /**
+     * Drop all the values.
+     */
+    final void evictAll() {
+        while (mTail != null) {
+            Entry<V> eldest = mTail;
+            removeEntry(eldest);
+            entryRemoved(eldest.key, eldest.value);
+        }
+    }
+
+    /**
+     * @return The number of cached values.
+     */
+    final int count() {
+        return mEntries.size();
+    }
+
+    /**
+     * @param index The index of a cached value, between 0 and {@link #count()}.
+     * @return The key at the index, in ascending order of the keys.
+     */
+    final long keyAt(int index) {
+        return mEntries.keyAt(index);
+    }
+
+    final int size() {
+        return mSize;
+    }
+
+    final int maxSize() {
+        return mMaxSize;
+    }
+
+    final int hitCount() {
+        return mHitCount;
+    }
+
+    final int missCount() {
+        return mMissCount;
+    }
+
+    final int evictionCount() {
+        return mEvictionCount;
+    }
+
+    /**
+     * @return The size of a value, 1 by default.
+     */
+    protected int sizeOf(long key, V value) {
+        return 1;
+    }
+
+    /**
+     * Called when a value was dropped, either evicted, removed or replaced.
+     */
+    protected void entryRemoved(long key, V oldValue) {
+    }
+
+    private void removeEntry(Entry<V> entry) {
+        mEntries.remove(entry.key);
+        unlink(entry);
+        mSize -= sizeOf(entry.key, entry.value);
+    }
+
+    private void linkFirst(Entry<V> entry) {
+        entry.next = mHead;
+
+        if (mHead != null) {
+            mHead.previous = entry;
+        }
+
+        mHead = entry;
+
+        if (mTail == null) {
+            mTail = entry;
+        }
+    }
+
+    private void unlink(Entry<V> entry) {
+        if (entry.previous != null) {
+            entry.previous.next = entry.next;
+        } else {
+            mHead = entry.next;
+        }
+
+        if (entry.next != null) {
+            entry.next.previous = entry.previous;
+        } else {
+            mTail = entry.previous;
+        }
+
+        entry.previous = null;
+        entry.next = null;
+    }
+
+    private static class Entry<V> {
+        final long key;
+        final V value;
+        Entry<V> previous;
+        Entry<V> next;
+
+        Entry(long key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.alamkanak.weekview;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Comparator;
+
+/**
+ * The layout of the overview: a row of seven day cells per week below the header row, which
+ * scroll vertically. Row 0 is the week of today, the rows above it have negative numbers. The
+ * cells show as many of their events as fit, and count the others in a "+N more" line. The layout
+ * only depends on the dimensions of the view and the scroll position, so it is kept apart from
+ * the view.
+ */
+class OverviewLayout {
+    static final int DAYS_PER_WEEK = 7;
+
+    private static final Comparator<EventLayout.Item> ORDER = new Comparator<EventLayout.Item>() {
+        @Override
+        public int compare(EventLayout.Item item1, EventLayout.Item item2) {
+            return isShownBefore(item1, item2) ? -1 : (isShownBefore(item2, item1) ? 1 : 0);
+        }
+    };
+
+    private float mWidth;
+    private float mHeight;
+    private float mHeaderHeight;
+    private int mWeekCount;
+    private float mCellWidth;
+    private float mRowHeight;
+    private float mTop;
+    private int mFirstDay;
+
+    /**
+     * Lay out the cells for a frame.
+     *
+     * @param width          The width of the view.
+     * @param height         The height of the view.
+     * @param headerHeight   The height of the header row.
+     * @param weekCount      The number of weeks which fit in the view.
+     * @param originY        The vertical scroll position, 0 when the week of today is at the top.
+     * @param todayWeekStart The epoch day on which the week of today starts.
+     * @return false if the view is too small to show any cell.
+     */
+    boolean update(float width, float height, float headerHeight, int weekCount, float originY, int todayWeekStart) {
+        mWidth = width;
+        mHeight = height;
+        mHeaderHeight = headerHeight;
+        mWeekCount = weekCount;
+        mCellWidth = width / DAYS_PER_WEEK;
+        mRowHeight = (height - headerHeight) / (float) weekCount;
+
+        if (mRowHeight <= 0) {
+            return false;
+        }
+
+        int firstRow = (int) Math.floor(-originY / mRowHeight);
+        mFirstDay = todayWeekStart + firstRow * DAYS_PER_WEEK;
+        mTop = headerHeight + originY + firstRow * mRowHeight;
+
+        return true;
+    }
+
+    float getCellWidth() {
+        return mCellWidth;
+    }
+
+    float getRowHeight() {
+        return mRowHeight;
+    }
+
+    /**
+     * @return The epoch day of the first cell, at the start of the topmost visible week.
+     */
+    int getFirstDay() {
+        return mFirstDay;
+    }
+
+    /**
+     * @return The number of cells which may be visible, one row more than fits in the view.
+     */
+    int getCellCount() {
+        return (mWeekCount + 1) * DAYS_PER_WEEK;
+    }
+
+    float getCellLeft(int cell) {
+        return (cell % DAYS_PER_WEEK) * mCellWidth;
+    }
+
+    float getCellTop(int cell) {
+        return mTop + (cell / DAYS_PER_WEEK) * mRowHeight;
+    }
+
+    /**
+     * @return Whether a part of a cell is visible below the header row.
+     */
+    boolean isCellVisible(int cell) {
+        float top = getCellTop(cell);
+
+        return top < mHeight && top + mRowHeight > mHeaderHeight;
+    }
+
+    /**
+     * Find the cell at a point.
+     *
+     * @param x The x position of the point.
+     * @param y The y position of the point.
+     * @return The index of the cell, or -1 if the point is not on a cell.
+     */
+    int getCellAtPoint(float x, float y) {
+        if (y < mHeaderHeight || mCellWidth <= 0 || mRowHeight <= 0) {
+            return -1;
+        }
+
+        int column = (int) (x / mCellWidth);
+        int row = (int) Math.floor((y - mTop) / mRowHeight);
+
+        if (column < 0 || column >= DAYS_PER_WEEK || row < 0) {
+            return -1;
+        }
+
+        return row * DAYS_PER_WEEK + column;
+    }
+
+    /**
+     * Get the first day of the week which is nearest to the top of the view.
+     *
+     * @param originY        The vertical scroll position.
+     * @param todayWeekStart The epoch day on which the week of today starts.
+     * @return The epoch day.
+     */
+    int getNearestWeekStart(float originY, int todayWeekStart) {
+        return todayWeekStart + Math.round(-originY / mRowHeight) * DAYS_PER_WEEK;
+    }
+
+    /**
+     * Get the distance to scroll by to snap the nearest week to the top of the view.
+     *
+     * @param originY The vertical scroll position.
+     * @return The distance, 0 if a week is at the top already.
+     */
+    int getNearestWeekOffset(float originY) {
+        if (mRowHeight <= 0) {
+            return 0;
+        }
+
+        double topWeeks = Math.round(originY / mRowHeight);
+
+        return (int) (originY - topWeeks * mRowHeight);
+    }
+
+    /**
+     * Get the scroll position which shows a week at the top of the view.
+     *
+     * @param weekStart      The epoch day on which the week starts.
+     * @param todayWeekStart The epoch day on which the week of today starts.
+     * @return The vertical scroll position.
+     */
+    float getWeekOriginY(int weekStart, int todayWeekStart) {
+        return -(weekStart - todayWeekStart) / DAYS_PER_WEEK * mRowHeight;
+    }
+
+    /**
+     * Compute the day separators and the week lines into a buffer.
+     *
+     * @param gridLines The buffer.
+     * @param gridRadio Half the thickness of a grid line.
+     * @return The number of line segments.
+     */
+    int computeGridLines(GridLines gridLines, float gridRadio) {
+        float[] lines = gridLines.ensureCapacity(DAYS_PER_WEEK - 1 + mWeekCount + 1);
+        int i = 0;
+
+        for (int column = 1; column < DAYS_PER_WEEK; column++) {
+            lines[i++] = column * mCellWidth - gridRadio;
+            lines[i++] = mHeaderHeight;
+            lines[i++] = column * mCellWidth - gridRadio;
+            lines[i++] = mHeight;
+        }
+
+        for (int row = 1; row <= mWeekCount + 1; row++) {
+            float top = mTop + row * mRowHeight - gridRadio;
+            lines[i++] = 0;
+            lines[i++] = top;
+            lines[i++] = mWidth;
+            lines[i++] = top;
+        }
+
+        return i / 4;
+    }
+
+    /**
+     * Get the number of lines for events in a cell.
+     *
+     * @param labelHeight   The height of the day number at the top of the cell.
+     * @param gridThickness The thickness of the grid lines.
+     * @param lineHeight    The height of a line.
+     * @return The number of lines.
+     */
+    int getLineCount(float labelHeight, float gridThickness, float lineHeight) {
+        return (int) ((mRowHeight - labelHeight - gridThickness) / lineHeight);
+    }
+
+    /**
+     * Get the number of events which a cell shows. Every event takes a line, unless there are more
+     * events than lines: then the last line tells how many events are left out.
+     *
+     * @param eventCount The number of events of the day.
+     * @param lineCount  The number of lines of the cell.
+     * @return The number of events to show, the others are counted in the last line.
+     */
+    static int getShownEventCount(int eventCount, int lineCount) {
+        if (lineCount <= 0) {
+            return 0;
+        }
+
+        return eventCount <= lineCount ? eventCount : lineCount - 1;
+    }
+
+    /**
+     * Put the events of a day in the order in which a cell shows them: the all day events first,
+     * then the other events by their start and their end. The sort is stable, so events which
+     * start and end together keep their layout order.
+     *
+     * @param items The events of the day.
+     */
+    static void sortEvents(EventLayout.Item[] items) {
+        Arrays.sort(items, ORDER);
+    }
+
+    /**
+     * @return Whether an event is shown above another one in a cell.
+     */
+    static boolean isShownBefore(EventLayout.Item item, EventLayout.Item other) {
+        if (item.allDay != other.allDay) {
+            return item.allDay;
+        }
+
+        if (item.startMillis != other.startMillis) {
+            return item.startMillis < other.startMillis;
+        }
+
+        return item.endMillis < other.endMillis;
+    }
+
+    /**
+     * Get the first day of the week of a day.
+     *
+     * @param day            The epoch day.
+     * @param firstDayOfWeek The first day of the week, such as {@link Calendar#MONDAY}.
+     * @return The epoch day on which the week starts.
+     */
+    static int getWeekStart(int day, int firstDayOfWeek) {
+        // The epoch day 0 was a Thursday.
+        int dayOfWeek = ((day + Calendar.THURSDAY - Calendar.SUNDAY) % DAYS_PER_WEEK + DAYS_PER_WEEK) % DAYS_PER_WEEK + Calendar.SUNDAY;
+
+        return day - ((dayOfWeek - firstDayOfWeek) % DAYS_PER_WEEK + DAYS_PER_WEEK) % DAYS_PER_WEEK;
+    }
+}
@@ -0,0 +1,205 @@
+package com.alamkanak.weekview;
+
+import java.util.Arrays;
+
+/**
+ * The columns of the resource mode, one per resource, side by side on the same day. Only the
+ * columns which come into view are loaded: this keeps the loaded value of each column, which
+ * columns are being loaded and the generation of the loads, so that a load which finishes after
+ * the columns were cleared is dropped. The buffers only grow with the number of resources, so
+ * finding the columns to load on a frame allocates nothing.
+ *
+ * @param <T> The type of the loaded value of a column.
+ */
+class ResourceColumns<T> {
+    private Object[] mValues = new Object[0];
+    private boolean[] mPending = new boolean[0];
+    private int[] mColumnsToLoad = new int[0];
+    private int mGeneration;
+
+    /**
+     * Get the first column of which a part is visible.
+     *
+     * @param originX     The horizontal scroll position, 0 or less.
+     * @param widthPerDay The width of a column.
+     * @return The column.
+     */
+    static int getFirstVisibleColumn(float originX, float widthPerDay) {
+        return Math.max(0, getLeftColumns(originX, widthPerDay));
+    }
+
+    /**
+     * Get the last column of which a part may be visible.
+     *
+     * @param originX      The horizontal scroll position, 0 or less.
+     * @param widthPerDay  The width of a column.
+     * @param visibleCount The number of columns which fit in the view.
+     * @param count        The number of columns.
+     * @return The column, less than the first visible column if there are none.
+     */
+    static int getLastVisibleColumn(float originX, float widthPerDay, int visibleCount, int count) {
+        return Math.min(count - 1, getLeftColumns(originX, widthPerDay) + visibleCount);
+    }
+
+    /**
+     * @return The number of whole columns scrolled out of view at the left.
+     */
+    private static int getLeftColumns(float originX, float widthPerDay) {
+        return (int) -(Math.ceil(originX / widthPerDay));
+    }
+
+    /**
+     * Get the horizontal scroll position which shows the last column at the right.
+     *
+     * @param count        The number of columns.
+     * @param visibleCount The number of columns which fit in the view.
+     * @param widthPerDay  The width of a column.
+     * @return The scroll position, 0 if all the columns fit.
+     */
+    static float getMinOriginX(int count, int visibleCount, float widthPerDay) {
+        return -Math.max(0, count - visibleCount) * widthPerDay;
+    }
+
+    /**
+     * Get the column at a horizontal position.
+     *
+     * @param x           The position, relative to the left of the first column when it is not
+     *                    scrolled.
+     * @param originX     The horizontal scroll position.
+     * @param widthPerDay The width of a column.
+     * @param count       The number of columns.
+     * @return The column, or -1 if the position is not on a column.
+     */
+    static int getColumnAt(float x, float originX, float widthPerDay, int count) {
+        int column = (int) Math.floor((x - originX) / widthPerDay);
+
+        return column >= 0 && column < count ? column : -1;
+    }
+
+    /**
+     * Find the visible columns which are neither loaded nor being loaded.
+     *
+     * @param originX      The horizontal scroll position.
+     * @param widthPerDay  The width of a column.
+     * @param visibleCount The number of columns which fit in the view.
+     * @param count        The number of columns.
+     * @return The number of columns to load, which are at the start of
+     * {@link #getColumnsToLoad()}.
+     */
+    int findColumnsToLoad(float originX, float widthPerDay, int visibleCount, int count) {
+        ensureCapacity(count);
+
+        int lastColumn = getLastVisibleColumn(originX, widthPerDay, visibleCount, count);
+        int columnCount = 0;
+
+        for (int column = getFirstVisibleColumn(originX, widthPerDay); column <= lastColumn; column++) {
+            if (mValues[column] == null && !mPending[column]) {
+                mColumnsToLoad[columnCount++] = column;
+            }
+        }
+
+        return columnCount;
+    }
+
+    /**
+     * @return The buffer which {@link #findColumnsToLoad(float, float, int, int)} fills, reused
+     * from one call to the next.
+     */
+    int[] getColumnsToLoad() {
+        return mColumnsToLoad;
+    }
+
+    private void ensureCapacity(int count) {
+        if (mValues.length < count) {
+            mValues = Arrays.copyOf(mValues, count);
+            mPending = Arrays.copyOf(mPending, count);
+            mColumnsToLoad = new int[count];
+        }
+    }
+
+    /**
+     * @return The generation of the loads, which changes whenever the loads in progress are
+     * dropped.
+     */
+    int getGeneration() {
+        return mGeneration;
+    }
+
+    /**
+     * Mark columns as being loaded, so that they are not loaded again in the meantime.
+     *
+     * @param columns The columns.
+     */
+    void setPending(int[] columns) {
+        for (int column : columns) {
+            ensureCapacity(column + 1);
+            mPending[column] = true;
+        }
+    }
+
+    /**
+     * Mark the columns of a load as no longer being loaded, unless the load was dropped.
+     *
+     * @param generation The generation of the load.
+     * @param columns    The columns of the load.
+     * @return Whether the load is still current, so that its values can be put.
+     */
+    boolean finishLoad(int generation, int[] columns) {
+        if (generation != mGeneration) {
+            return false;
+        }
+
+        for (int column : columns) {
+            if (column < mPending.length) {
+                mPending[column] = false;
+            }
+        }
+
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(int column) {
+        return column >= 0 && column < mValues.length ? (T) mValues[column] : null;
+    }
+
+    void put(int column, T value) {
+        ensureCapacity(column + 1);
+        mValues[column] = value;
+    }
+
+    /**
+     * Forget the value of a column, so that it is loaded again when it is visible.
+     *
+     * @param column The column.
+     */
+    void remove(int column) {
+        if (column >= 0 && column < mValues.length) {
+            mValues[column] = null;
+        }
+    }
+
+    /**
+     * @return The number of columns which may have a value, an upper bound for
+     * {@link #get(int)}.
+     */
+    int getCapacity() {
+        return mValues.length;
+    }
+
+    /**
+     * Drop the loads in progress, but keep the loaded values.
+     */
+    void cancelLoads() {
+        mGeneration++;
+        Arrays.fill(mPending, false);
+    }
+
+    /**
+     * Forget the loaded values and drop the loads in progress.
+     */
+    void clear() {
+        cancelLoads();
+        Arrays.fill(mValues, null);
+    }
+}
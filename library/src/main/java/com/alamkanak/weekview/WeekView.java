@@ -1,10 +1,13 @@
 package com.alamkanak.weekview;
 
 import android.content.Context;
+import android.content.res.Configuration;
 import android.content.res.TypedArray;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.Picture;
 import android.graphics.PointF;
 import android.graphics.Rect;
 import android.graphics.RectF;
@@ -12,8 +15,11 @@ import android.graphics.Region;
 import android.graphics.Typeface;
 import android.graphics.drawable.Drawable;
 import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
 import android.support.annotation.Nullable;
 import android.support.v4.content.ContextCompat;
+import android.support.v4.util.LruCache;
 import android.support.v4.view.GestureDetectorCompat;
 import android.support.v4.view.ViewCompat;
 import android.support.v4.view.animation.FastOutLinearInInterpolator;
@@ -24,6 +30,8 @@ import android.text.TextPaint;
 import android.text.TextUtils;
 import android.text.style.StyleSpan;
 import android.util.AttributeSet;
+import android.util.Log;
+import android.util.SparseArray;
 import android.util.TypedValue;
 import android.view.GestureDetector;
 import android.view.HapticFeedbackConstants;
@@ -35,22 +43,44 @@ import android.view.ViewConfiguration;
 import android.widget.OverScroller;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-
-import static com.alamkanak.weekview.WeekViewUtil.isSameDay;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import static com.alamkanak.weekview.WeekViewUtil.toEpochDay;
 import static com.alamkanak.weekview.WeekViewUtil.today;
 
 /**
  * Created by Raquib-ul-Alam Kanak on 7/21/2014.
  * Website: http://alamkanak.github.io/
+ * <p>
+ * The events are loaded on the UI thread by default, so a
+ * {@link MonthLoader.MonthChangeListener} or a {@link WeekViewLoader} is called just like before.
+ * Loading them on a background thread is opt-in, with {@link #setLoadEventsAsynchronously(boolean)},
+ * and required by {@link #setAsyncWeekViewLoader(AsyncWeekViewLoader)}.
  */
 public class WeekView extends View {
 
-    private static final int HOURS = 23;
+    private static final String TAG = "WeekView";
+    static final int HOURS = 23;
     private static final String TIME_TEXT = "00 PM";
+    private static final int EVENT_TITLE_CACHE_SIZE = 512;
+    private static final int DEFAULT_PERIOD_CACHE_SIZE = 6;
+    private static final int DEFAULT_PREFETCH_HORIZON = 1;
+    private static final int DAY_TILE_POOL_SIZE = 4;
+    private static final String DEFAULT_MORE_EVENTS_TEXT = "+%d more";
+    // The ellipsis which TextUtils.ellipsize appends.
+    private static final String ELLIPSIS = "\u2026";
 
     private enum Direction {
         NONE, LEFT, RIGHT, VERTICAL
@@ -58,23 +88,45 @@ public class WeekView extends View {
 
     private final Context mContext;
 
-    private boolean mAreDimensionsInvalid = true;
+    // What the next frame has to update before drawing. A frame without dirty flags only redraws.
+    private static final int DIRTY_GEOMETRY = 1;
+    private static final int DIRTY_DATA = 1 << 1;
+    private int mDirtyFlags = DIRTY_GEOMETRY;
+    private int mFrameCount = 0;
+    private int mGeometryUpdateCount = 0;
+    private int mDataUpdateCount = 0;
+
     private boolean mIsZooming;
-    private boolean mRefreshEvents = false;
     private Calendar mScrollToDay = null;
     private Calendar mFirstVisibleDay;
+    private int mFirstVisibleEpochDay;
     private Direction mCurrentFlingDirection = Direction.NONE;
     private Direction mCurrentScrollDirection = Direction.NONE;
     private double mScrollToHour = -1;
     private float mXScrollingSpeed = 1f;
     private GestureDetectorCompat mGestureDetector;
     private int mFetchedPeriod = -1;
+    private int mFetchedPeriodRadius = 1;
+    private int mFetchedFirstDay = 0;
+    private int mFetchedLastDay = -1;
     private int mMinimumFlingVelocity = 0;
     private int mScaledTouchSlop = 0;
-    private List<EventRect> mEventRects;
-    private List<? extends WeekViewEvent> mCurrentPeriodEvents;
-    private List<? extends WeekViewEvent> mNextPeriodEvents;
-    private List<? extends WeekViewEvent> mPreviousPeriodEvents;
+    private SparseArray<List<EventRect>> mEventRectsByDay;
+
+    // The event rectangles drawn in the last frame, per visible day column, in drawing order.
+    private final List<List<EventRect>> mDrawnEventRects = new ArrayList<>();
+    private final List<List<EventRect>> mDrawnAllDayEventRects = new ArrayList<>();
+    private float mDrawnColumnsLeft;
+    private int mDrawnColumnsFirstDay;
+
+    // Drawing state which is reused between frames.
+    private Calendar mToday;
+    private int mTodayEpochDay;
+    private long mTodayStartMillis;
+    private long mTomorrowStartMillis;
+    private final Calendar mDrawDay = Calendar.getInstance();
+    private final Calendar mNow = Calendar.getInstance();
+    private final GridLines mGridLines = new GridLines();
     private OverScroller mScroller;
     private PointF mCurrentOrigin = new PointF(0f, 0f);
     private ScaleGestureDetector mScaleDetector;
@@ -136,18 +188,103 @@ public class WeekView extends View {
     private int mEventPadding = 0;
     private int mEventTextSize = 0;
     private int mOverlappingEventGap = 0;
+    private int mMinEventTitleHeight = 0;
+    private int mMinEventColumnWidth = 0;
     private Paint mEventBackgroundPaint;
     private TextPaint mEventTextPaint;
+    private final EventTitleKey mEventTitleLookupKey = new EventTitleKey();
+    private final LruCache<EventTitleKey, EventTitleLayout> mEventTitleCache = new LruCache<>(EVENT_TITLE_CACHE_SIZE);
+    private final EventTitleFitter<StaticLayout> mEventTitleFitter = new EventTitleFitter<StaticLayout>() {
+        @Override
+        StaticLayout layout(CharSequence text, int width) {
+            return new StaticLayout(text, mEventTextPaint, width, Layout.Alignment.ALIGN_NORMAL, 1.0f, 0.0f, false);
+        }
+
+        @Override
+        int getHeight(StaticLayout layout) {
+            return layout.getHeight();
+        }
+
+        @Override
+        int getLineStart(StaticLayout layout, int line) {
+            return layout.getLineStart(line);
+        }
+
+        @Override
+        CharSequence ellipsize(CharSequence text, float width) {
+            return TextUtils.ellipsize(text, mEventTextPaint, width, TextUtils.TruncateAt.END);
+        }
+
+        @Override
+        float measure(CharSequence text, int start, int end) {
+            return Layout.getDesiredWidth(text, start, end, mEventTextPaint);
+        }
+
+        @Override
+        float getEllipsisWidth() {
+            return Layout.getDesiredWidth(ELLIPSIS, mEventTextPaint);
+        }
+    };
+    private final SparseArray<Drawable> mEventDrawables = new SparseArray<>();
 
     // Listeners.
     private DateTimeInterpreter mDateTimeInterpreter;
+    private String[] mTimeLabels;
+    private String[] mPeriodLabels;
+    // The header labels by epoch day, in slots of which the index is the day modulo the length.
+    private int[] mHeaderLabelDays;
+    private HeaderLabel[] mHeaderLabels;
     private EmptyViewClickListener mEmptyViewClickListener;
     private EmptyViewLongPressListener mEmptyViewLongPressListener;
     private EventClickListener mEventClickListener;
     private EventLongPressListener mEventLongPressListener;
     private ScrollListener mScrollListener;
+    private LoadFailureListener mLoadFailureListener;
     private WeekViewLoader mWeekViewLoader;
 
+    // Loading.
+    private boolean mLoadEventsAsynchronously = false;
+    private ExecutorService mLoaderExecutor;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private int mLoadGeneration = 0;
+    private int mPendingPeriod = -1;
+    private int mPendingPeriodRadius = 1;
+    private final Object mPeriodCacheLock = new Object();
+    private LruCache<Integer, List<? extends WeekViewEvent>> mPeriodCache = new LruCache<>(DEFAULT_PERIOD_CACHE_SIZE);
+    private int mPeriodCacheGeneration = 0;
+    private int mPrefetchHorizon = DEFAULT_PREFETCH_HORIZON;
+    private final Set<Integer> mQueuedPrefetches = new HashSet<>();
+
+    // Day tiles.
+    private boolean mDayTileCacheEnabled = false;
+    private LongLruCache<Bitmap> mDayTileCache = createDayTileCache((int) Math.min(Runtime.getRuntime().maxMemory() / 8, Integer.MAX_VALUE));
+    private final List<Bitmap> mReleasedDayTiles = new ArrayList<>();
+    private final List<Bitmap> mDayTilePool = new ArrayList<>();
+    private final Canvas mDayTileCanvas = new Canvas();
+    private int mDayTileWidth;
+    private int mDayTileHeight;
+
+    // Overview.
+    private int mNumberOfVisibleWeeks = 0;
+    private String mMoreEventsText;
+    private final SparseArray<String> mMoreEventsLabels = new SparseArray<>();
+    private final OverviewLayout mOverviewLayout = new OverviewLayout();
+    private final SparseArray<OverviewEvents> mOverviewEvents = new SparseArray<>();
+
+    // Resources.
+    private List<WeekViewResource> mResources;
+    private WeekViewResourceLoader mResourceLoader;
+    private int mResourceEpochDay;
+    private final ResourceColumns<List<EventRect>> mResourceColumns = new ResourceColumns<>();
+    private float[] mResourceLabelWidths;
+
+    // Static chrome, recorded once and replayed in every frame.
+    private Picture mHeaderChromePicture;
+    private Picture mTimeColumnPicture;
+    private int mHeaderChromeWidth;
+    private float mHeaderChromeHeight;
+    private int mTimeColumnHourHeight;
+
     private final GestureDetector.SimpleOnGestureListener mGestureListener = new GestureDetector.SimpleOnGestureListener() {
 
         @Override
@@ -166,8 +303,9 @@ public class WeekView extends View {
 
             switch (mCurrentScrollDirection) {
                 case NONE: {
-                    // Allow scrolling only in one direction.
-                    if (Math.abs(distanceX) > Math.abs(distanceY)) {
+                    // Allow scrolling only in one direction. The weeks of the overview only scroll
+                    // vertically.
+                    if (mNumberOfVisibleWeeks == 0 && Math.abs(distanceX) > Math.abs(distanceY)) {
                         if (distanceX > 0) {
                             mCurrentScrollDirection = Direction.LEFT;
                         } else {
@@ -222,10 +360,22 @@ public class WeekView extends View {
             switch (mCurrentFlingDirection) {
                 case LEFT:
                 case RIGHT:
-                    mScroller.fling((int) mCurrentOrigin.x, (int) mCurrentOrigin.y, (int) (velocityX * mXScrollingSpeed), 0, Integer.MIN_VALUE, Integer.MAX_VALUE, (int) -(mHourHeight * HOURS + mHeaderHeight + mHourHeight + mTimeTextHeight / 2 - getHeight()), 0);
+                    if (mResources != null) {
+                        // The resources end at both sides, their columns are loaded where the
+                        // fling ends.
+                        mScroller.fling((int) mCurrentOrigin.x, (int) mCurrentOrigin.y, (int) (velocityX * mXScrollingSpeed), 0, (int) ResourceColumns.getMinOriginX(mResources.size(), mNumberOfVisibleDays, mWidthPerDay), 0, (int) -(mHourHeight * HOURS + mHeaderHeight + mHourHeight + mTimeTextHeight / 2 - getHeight()), 0);
+                        loadResources(mScroller.getFinalX());
+                    } else {
+                        mScroller.fling((int) mCurrentOrigin.x, (int) mCurrentOrigin.y, (int) (velocityX * mXScrollingSpeed), 0, Integer.MIN_VALUE, Integer.MAX_VALUE, (int) -(mHourHeight * HOURS + mHeaderHeight + mHourHeight + mTimeTextHeight / 2 - getHeight()), 0);
+                        prefetchPeriods();
+                    }
                     break;
                 case VERTICAL:
-                    mScroller.fling((int) mCurrentOrigin.x, (int) mCurrentOrigin.y, 0, (int) velocityY, Integer.MIN_VALUE, Integer.MAX_VALUE, (int) -(mHourHeight * HOURS + mHeaderHeight + mHourHeight + mTimeTextHeight / 2 - getHeight()), 0);
+                    if (mNumberOfVisibleWeeks > 0) {
+                        mScroller.fling((int) mCurrentOrigin.x, (int) mCurrentOrigin.y, 0, (int) velocityY, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                    } else {
+                        mScroller.fling((int) mCurrentOrigin.x, (int) mCurrentOrigin.y, 0, (int) velocityY, Integer.MIN_VALUE, Integer.MAX_VALUE, (int) -(mHourHeight * HOURS + mHeaderHeight + mHourHeight + mTimeTextHeight / 2 - getHeight()), 0);
+                    }
                     break;
             }
 
@@ -238,22 +388,19 @@ public class WeekView extends View {
         @Override
         public boolean onSingleTapConfirmed(MotionEvent e) {
             // If the tap was on an event then trigger the callback.
-            if (mEventRects != null && mEventClickListener != null) {
-                List<EventRect> reversedEventRects = mEventRects;
-                Collections.reverse(reversedEventRects);
+            if (mEventClickListener != null) {
+                EventRect event = getEventRectAtPoint(e.getX(), e.getY());
 
-                for (EventRect event : reversedEventRects) {
-                    if (event.rectF != null && e.getX() > event.rectF.left && e.getX() < event.rectF.right && e.getY() > event.rectF.top && e.getY() < event.rectF.bottom) {
-                        mEventClickListener.onEventClick(event.originalEvent, event.rectF);
-                        playSoundEffect(SoundEffectConstants.CLICK);
+                if (event != null) {
+                    mEventClickListener.onEventClick(event.getOriginalEvent(), new RectF(event.rectF));
+                    playSoundEffect(SoundEffectConstants.CLICK);
 
-                        return super.onSingleTapConfirmed(e);
-                    }
+                    return super.onSingleTapConfirmed(e);
                 }
             }
 
             // If the tap was on in an empty space, then trigger the callback.
-            if (mEmptyViewClickListener != null && e.getX() > mTimeColumnWidth && e.getY() > (mHeaderHeight)) {
+            if (mEmptyViewClickListener != null && isInDaysArea(e.getX(), e.getY())) {
                 Calendar selectedTime = getTimeFromPoint(e.getX(), e.getY());
 
                 if (selectedTime != null) {
@@ -269,22 +416,19 @@ public class WeekView extends View {
         public void onLongPress(MotionEvent e) {
             super.onLongPress(e);
 
-            if (mEventLongPressListener != null && mEventRects != null) {
-                List<EventRect> reversedEventRects = mEventRects;
-                Collections.reverse(reversedEventRects);
+            if (mEventLongPressListener != null) {
+                EventRect event = getEventRectAtPoint(e.getX(), e.getY());
 
-                for (EventRect event : reversedEventRects) {
-                    if (event.rectF != null && e.getX() > event.rectF.left && e.getX() < event.rectF.right && e.getY() > event.rectF.top && e.getY() < event.rectF.bottom) {
-                        mEventLongPressListener.onEventLongPress(event.originalEvent, event.rectF);
-                        performHapticFeedback(HapticFeedbackConstants.LONG_PRESS);
+                if (event != null) {
+                    mEventLongPressListener.onEventLongPress(event.getOriginalEvent(), new RectF(event.rectF));
+                    performHapticFeedback(HapticFeedbackConstants.LONG_PRESS);
 
-                        return;
-                    }
+                    return;
                 }
             }
 
             // If the tap was on in an empty space, then trigger the callback.
-            if (mEmptyViewLongPressListener != null && e.getX() > mTimeColumnWidth && e.getY() > (mHeaderHeight)) {
+            if (mEmptyViewLongPressListener != null && isInDaysArea(e.getX(), e.getY())) {
                 Calendar selectedTime = getTimeFromPoint(e.getX(), e.getY());
 
                 if (selectedTime != null) {
@@ -334,10 +478,18 @@ public class WeekView extends View {
             mEventPadding = a.getDimensionPixelSize(R.styleable.WeekView_eventPadding, mEventPadding);
             mEventTextSize = a.getDimensionPixelSize(R.styleable.WeekView_eventTextSize, (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, mEventTextSize, context.getResources().getDisplayMetrics()));
             mOverlappingEventGap = a.getDimensionPixelSize(R.styleable.WeekView_overlappingEventGap, mOverlappingEventGap);
+            mMinEventTitleHeight = a.getDimensionPixelSize(R.styleable.WeekView_minEventTitleHeight, mMinEventTitleHeight);
+            mMinEventColumnWidth = a.getDimensionPixelSize(R.styleable.WeekView_minEventColumnWidth, mMinEventColumnWidth);
+            mNumberOfVisibleWeeks = a.getInteger(R.styleable.WeekView_noOfVisibleWeeks, mNumberOfVisibleWeeks);
+            mMoreEventsText = a.getString(R.styleable.WeekView_moreEventsText);
         } finally {
             a.recycle();
         }
 
+        if (mMoreEventsText == null) {
+            mMoreEventsText = DEFAULT_MORE_EVENTS_TEXT;
+        }
+
         init();
     }
 
@@ -430,6 +582,11 @@ public class WeekView extends View {
 
             @Override
             public boolean onScaleBegin(ScaleGestureDetector detector) {
+                // The overview has no hours to zoom.
+                if (mNumberOfVisibleWeeks > 0) {
+                    return false;
+                }
+
                 mIsZooming = true;
                 goToNearestOrigin();
 
@@ -452,6 +609,14 @@ public class WeekView extends View {
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
 
+        mFrameCount++;
+
+        if (mNumberOfVisibleWeeks > 0) {
+            drawOverview(canvas);
+
+            return;
+        }
+
         // Draw the header row.
         drawHeaderRowAndEvents(canvas);
 
@@ -463,39 +628,98 @@ public class WeekView extends View {
         // Clip to paint in left column only.
         canvas.clipRect(0, mHeaderHeight, mTimeColumnWidth, getHeight(), Region.Op.REPLACE);
 
-        for (int i = 0; i < HOURS; i++) {
-            float top = mHeaderHeight + mHourHeight + mCurrentOrigin.y + mHourHeight * i;
-
-            // Draw the text if its y position is not outside of the visible area. The pivot point of the text is the point at the bottom-right corner.
-            DateTimeInterpreter dateTimeInterpreter;
+        // The labels of the hours only change with the interpreter.
+        if (mTimeLabels == null && mDateTimeInterpreter != null) {
+            mTimeLabels = new String[HOURS];
+            mPeriodLabels = new String[HOURS];
 
-            try {
-                dateTimeInterpreter = getDateTimeInterpreter();
-            } catch (IllegalStateException e) {
-                continue;
+            for (int i = 0; i < HOURS; i++) {
+                String hour = mDateTimeInterpreter.interpretTime(i + 1);
+                String period = mDateTimeInterpreter.interpretPeriod(i + 1);
+                mTimeLabels[i] = hour == null ? "" : hour;
+                mPeriodLabels[i] = period == null ? "" : period;
             }
+        }
 
-            String hour = dateTimeInterpreter.interpretTime(i + 1);
-            String period = dateTimeInterpreter.interpretPeriod(i + 1);
-
-            if (hour == null) {
-                hour = "";
+        if (mTimeLabels != null) {
+            // The labels only move vertically, so the whole column is replayed at the scroll offset.
+            if (mTimeColumnPicture != null && mTimeColumnHourHeight != mHourHeight) {
+                mTimeColumnPicture = null;
             }
 
-            if (period == null) {
-                period = "";
-            }
+            canvas.save();
+            canvas.translate(0, mHeaderHeight + mCurrentOrigin.y);
+
+            if (canDrawPictures(canvas)) {
+                if (mTimeColumnPicture == null) {
+                    mTimeColumnPicture = new Picture();
+                    mTimeColumnHourHeight = mHourHeight;
+                    drawTimeLabels(mTimeColumnPicture.beginRecording((int) Math.ceil(mTimeColumnWidth), (int) Math.ceil(mHourHeight * (HOURS + 1) + mTimeTextHeight / 2 + mTimeColumnPadding * 2)));
+                    mTimeColumnPicture.endRecording();
+                }
 
-            if (top < getHeight()) {
-                canvas.drawText(hour, mTimeColumnPadding, top + mTimeTextHeight / 2, mHourPaint);
-                canvas.drawText(period, mTimeColumnPadding, top + mTimeTextHeight / 2 + mTimeColumnPadding * 2, mPeriodPaint);
+                canvas.drawPicture(mTimeColumnPicture);
+            } else {
+                drawTimeLabels(canvas);
             }
+
+            canvas.restore();
         }
 
         // Draw right line.
         canvas.drawLine(mTimeColumnWidth - mGridRadio, 0, mTimeColumnWidth - mGridRadio, getHeight(), mGridPaint);
     }
 
+    /**
+     * Draw the labels of the hours, with the top of the day at the origin. The pivot point of the
+     * text is the point at the bottom-right corner.
+     *
+     * @param canvas The canvas to draw upon.
+     */
+    private void drawTimeLabels(Canvas canvas) {
+        for (int i = 0; i < HOURS; i++) {
+            float top = mHourHeight + mHourHeight * i;
+            canvas.drawText(mTimeLabels[i], mTimeColumnPadding, top + mTimeTextHeight / 2, mHourPaint);
+            canvas.drawText(mPeriodLabels[i], mTimeColumnPadding, top + mTimeTextHeight / 2 + mTimeColumnPadding * 2, mPeriodPaint);
+        }
+    }
+
+    /**
+     * Draw the backgrounds and the separators of the header row, which do not scroll.
+     *
+     * @param canvas The canvas to draw upon.
+     */
+    private void drawHeaderChrome(Canvas canvas) {
+        // Draw 'All day' background.
+        canvas.drawRect(0, mDayHeight, getWidth(), mHeaderHeight, mAllDayBackgroundPaint);
+
+        // Draw 'All day' text.
+        canvas.save();
+        canvas.clipRect(0, 0, mTimeColumnWidth, mHeaderHeight);
+        canvas.drawText(mAllDayText, mTimeColumnWidth / 2, mDayHeight - mGridThickness + mAllDayEventHeight / 2 + mAllDayTextPaint.getTextSize() / 2, mAllDayTextPaint);
+        canvas.restore();
+
+        // 'All day' text right line.
+        canvas.drawLine(mTimeColumnWidth - mGridRadio, 0, mTimeColumnWidth - mGridRadio, mHeaderHeight, mGridPaint);
+
+        // 'All day' top line.
+        canvas.drawLine(0, mDayHeight + mGridRadio, getWidth(), mDayHeight + mGridRadio, mGridPaint);
+
+        // 'All day' bottom line.
+        canvas.drawLine(0, mHeaderHeight - mGridRadio, getWidth(), mHeaderHeight - mGridRadio, mGridPaint);
+    }
+
+    /**
+     * Whether a canvas can replay pictures. Hardware accelerated canvases only can since API 23,
+     * the static chrome is drawn directly on older ones.
+     *
+     * @param canvas The canvas.
+     * @return true if the recorded pictures may be drawn.
+     */
+    private boolean canDrawPictures(Canvas canvas) {
+        return !canvas.isHardwareAccelerated() || Build.VERSION.SDK_INT >= Build.VERSION_CODES.M;
+    }
+
     private void drawHeaderRowAndEvents(Canvas canvas) {
         // Calculate the available width for each day.
         mWidthPerDay = (getWidth() - mTimeColumnWidth) / mNumberOfVisibleDays;
@@ -503,25 +727,24 @@ public class WeekView extends View {
         // Calculate header height.
         mHeaderHeight = mDayHeight + mAllDayEventHeight;
 
-        Calendar today = today();
+        updateToday();
 
-        if (mAreDimensionsInvalid) {
+        if ((mDirtyFlags & DIRTY_GEOMETRY) != 0) {
             mEffectiveMinHourHeight = Math.max(mMinHourHeight, (int) ((getHeight() - mHeaderHeight - mHourHeight) / HOURS));
-            mAreDimensionsInvalid = false;
+            mDirtyFlags &= ~DIRTY_GEOMETRY;
+            mGeometryUpdateCount++;
 
+            // Apply the scrolls which were requested before the dimensions were known.
             if (mScrollToDay != null) {
                 goToDate(mScrollToDay);
             }
 
-            mAreDimensionsInvalid = false;
-
             if (mScrollToHour >= 0) {
                 goToHour(mScrollToHour);
             }
 
             mScrollToDay = null;
             mScrollToHour = -1;
-            mAreDimensionsInvalid = false;
         }
 
         // Calculate the new height due to the zooming.
@@ -533,7 +756,14 @@ public class WeekView extends View {
             }
 
             mCurrentOrigin.y = (mCurrentOrigin.y / mHourHeight) * mNewHourHeight;
+
+            if (mHourHeight != mNewHourHeight) {
+                // The rendered days are at the previous zoom.
+                mDayTileCache.evictAll();
+            }
+
             mHourHeight = mNewHourHeight;
+            mEffectiveMinHourHeight = Math.max(mMinHourHeight, (int) ((getHeight() - mHeaderHeight - mHourHeight) / HOURS));
             mNewHourHeight = -1;
         }
 
@@ -547,87 +777,80 @@ public class WeekView extends View {
             mCurrentOrigin.y = 0;
         }
 
+        // The resource columns end at both sides.
+        if (mResources != null) {
+            mCurrentOrigin.x = Math.max(ResourceColumns.getMinOriginX(mResources.size(), mNumberOfVisibleDays, mWidthPerDay), Math.min(0, mCurrentOrigin.x));
+        }
+
+        // The rendered tiles are keyed by day, so the resource columns are drawn directly.
+        boolean drawDayTiles = mDayTileCacheEnabled && mResources == null;
+
+        if (drawDayTiles) {
+            prepareDayTiles();
+        }
+
         // Consider scroll offset.
         int leftDaysWithGaps = (int) -(Math.ceil(mCurrentOrigin.x / mWidthPerDay));
         float startFromPixel = mCurrentOrigin.x + mWidthPerDay * leftDaysWithGaps + mTimeColumnWidth;
         float startPixel = startFromPixel;
 
-        // Prepare to iterate for each day.
-        Calendar day = (Calendar) today.clone();
-        day.add(Calendar.HOUR, 6);
-
-        // Prepare to iterate for each hour to draw the hour lines.
-        int lineCount = (int) ((getHeight() - mHeaderHeight - mHourHeight) / mHourHeight) + 1;
-        lineCount = (lineCount) * (mNumberOfVisibleDays + 1);
-        float[] hourLines = new float[lineCount * 4];
-
-        // Clear the cache for event rectangles.
-        if (mEventRects != null) {
-            for (EventRect eventRect : mEventRects) {
-                eventRect.rectF = null;
-            }
-        }
+        // Clear the cache for event rectangles drawn in the previous frame.
+        clearDrawnEventRects(mDrawnEventRects, mNumberOfVisibleDays + 1);
+        clearDrawnEventRects(mDrawnAllDayEventRects, mNumberOfVisibleDays + 1);
+        mDrawnColumnsLeft = startFromPixel;
+        mDrawnColumnsFirstDay = mTodayEpochDay + leftDaysWithGaps;
 
         // Clip to paint events only.
         canvas.clipRect(mTimeColumnWidth, mHeaderHeight, getWidth(), getHeight(), Region.Op.REPLACE);
         canvas.drawRect(mTimeColumnWidth, mHeaderHeight, getWidth(), getHeight(), mBackgroundPaint);
 
-        // Iterate through each day.
-        Calendar oldFirstVisibleDay = mFirstVisibleDay;
-        mFirstVisibleDay = (Calendar) today.clone();
-        mFirstVisibleDay.add(Calendar.DATE, -(Math.round(mCurrentOrigin.x / mWidthPerDay)));
+        // Draw the day separators and the hour lines of all the days at once, below the events.
+        if (!drawDayTiles) {
+            // Hour lines just below the header row are left out, as they would touch the time labels.
+            int gridLineCount = mGridLines.computeDayLines(startFromPixel, mNumberOfVisibleDays + 1, mWidthPerDay, mTimeColumnWidth, mGridRadio, getHeight(), mHeaderHeight + mCurrentOrigin.y, mHourHeight, mHeaderHeight + mTimeTextHeight / 2);
+            canvas.drawLines(mGridLines.getLines(), 0, gridLineCount * 4, mGridPaint);
+        }
 
-        if (!mFirstVisibleDay.equals(oldFirstVisibleDay) && mScrollListener != null) {
-            mScrollListener.onFirstVisibleDayChanged(mFirstVisibleDay, oldFirstVisibleDay);
+        // Iterate through each day, or through each resource on the day of the resources.
+        if (mResources != null) {
+            updateFirstVisibleDay(mResourceEpochDay);
+            loadResources(mCurrentOrigin.x);
+        } else {
+            updateFirstVisibleDay(mTodayEpochDay - Math.round(mCurrentOrigin.x / mWidthPerDay));
         }
 
         for (int dayNumber = leftDaysWithGaps + 1; dayNumber <= leftDaysWithGaps + mNumberOfVisibleDays + 1; dayNumber++) {
             // Check if the day is today.
-            day = (Calendar) today.clone();
-            Calendar lastVisibleDay = (Calendar) day.clone();
-            day.add(Calendar.DATE, dayNumber - 1);
-            lastVisibleDay.add(Calendar.DATE, dayNumber - 2);
-            boolean sameDay = isSameDay(day, today);
+            int day = mResources != null ? mResourceEpochDay : mTodayEpochDay + dayNumber - 1;
+            boolean sameDay = day == mTodayEpochDay;
 
             // Get more events if necessary. We want to store the events 3 months beforehand. GeT events only when it is the first iteration of the loop.
-            if (mEventRects == null || mRefreshEvents || (mWeekViewLoader != null && dayNumber == leftDaysWithGaps + 1 && mFetchedPeriod != (int) mWeekViewLoader.toWeekViewPeriodIndex(day) && Math.abs(mFetchedPeriod - mWeekViewLoader.toWeekViewPeriodIndex(day)) > 0.5)) {
-                getMoreEvents(day);
-                mRefreshEvents = false;
+            if (mResources == null && (mEventRectsByDay == null || (mDirtyFlags & DIRTY_DATA) != 0 || (mWeekViewLoader != null && dayNumber == leftDaysWithGaps + 1 && isOutsideFetchedPeriod(getDrawDay(day))))) {
+                getMoreEvents(day, day);
+                if ((mDirtyFlags & DIRTY_DATA) != 0) {
+                    mDirtyFlags &= ~DIRTY_DATA;
+                    mDataUpdateCount++;
+                }
             }
 
             // Draw background color for each day.
             float start = (startPixel < mTimeColumnWidth ? mTimeColumnWidth : startPixel);
+            List<EventRect> drawnRects = mDrawnEventRects.get(dayNumber - leftDaysWithGaps - 1);
 
-            if (mWidthPerDay + startPixel - start > 0) {
-                canvas.drawLine(startPixel + mWidthPerDay - mGridRadio, 0, startPixel + mWidthPerDay - mGridRadio, getHeight(), mGridPaint);
-            }
-
-            // Prepare the separator lines for hours.
-            int i = 0;
-
-            for (int hourNumber = 0; hourNumber <= HOURS; hourNumber++) {
-                float top = mHeaderHeight + mCurrentOrigin.y + mHourHeight * hourNumber;
-
-                if (top > mHeaderHeight + mTimeTextHeight / 2 && top < getHeight() && startPixel + mWidthPerDay - start > 0) {
-                    hourLines[i * 4] = start;
-                    hourLines[i * 4 + 1] = top;
-                    hourLines[i * 4 + 2] = startPixel + mWidthPerDay;
-                    hourLines[i * 4 + 3] = top;
-                    i++;
-                }
+            if (drawDayTiles) {
+                // Blit the rendered day, the events are only positioned for hit-testing.
+                drawDayTiles(day, startPixel, canvas);
+                drawEvents(getColumnEventRects(day, dayNumber - 1), startPixel, drawnRects, null);
+            } else {
+                // Draw the events.
+                drawEvents(getColumnEventRects(day, dayNumber - 1), startPixel, drawnRects, canvas);
             }
 
-            // Draw the lines for hours.
-            canvas.drawLines(hourLines, mGridPaint);
-
-            // Draw the events.
-            drawEvents(day, startPixel, canvas);
-
             // Draw the line at the current time.
             if (sameDay) {
                 float startY = mHeaderHeight + mCurrentOrigin.y;
-                Calendar now = Calendar.getInstance();
-                float beforeNow = (now.get(Calendar.HOUR_OF_DAY) + now.get(Calendar.MINUTE) / 60.0f) * mHourHeight;
+                mNow.setTimeInMillis(System.currentTimeMillis());
+                float beforeNow = (mNow.get(Calendar.HOUR_OF_DAY) + mNow.get(Calendar.MINUTE) / 60.0f) * mHourHeight;
                 canvas.drawLine(start, startY + beforeNow, startPixel + mWidthPerDay, startY + beforeNow, mNowLinePaint);
                 canvas.drawCircle(start, startY + beforeNow, mNowCircleRadius, mNowCirclePaint);
             }
@@ -636,285 +859,1031 @@ public class WeekView extends View {
             startPixel += mWidthPerDay;
         }
 
-        // Draw 'All day' text.
-        canvas.clipRect(0, 0, mTimeColumnWidth, mHeaderHeight, Region.Op.REPLACE);
-        canvas.drawRect(0, mDayHeight, mTimeColumnWidth, mHeaderHeight, mAllDayBackgroundPaint);
-        canvas.drawText(mAllDayText, mTimeColumnWidth / 2, mDayHeight - mGridThickness + mAllDayEventHeight / 2 + mAllDayTextPaint.getTextSize() / 2, mAllDayTextPaint);
+        // Draw the 'All day' row, recorded again only when its size changes.
+        canvas.clipRect(0, 0, getWidth(), mHeaderHeight, Region.Op.REPLACE);
 
-        // 'All day' text right line.
-        canvas.drawLine(mTimeColumnWidth - mGridRadio, 0, mTimeColumnWidth - mGridRadio, mHeaderHeight, mGridPaint);
+        if (mHeaderChromePicture != null && (mHeaderChromeWidth != getWidth() || mHeaderChromeHeight != mHeaderHeight)) {
+            mHeaderChromePicture = null;
+        }
 
-        // 'All day' text top line.
-        canvas.drawLine(0, mDayHeight + mGridRadio, mTimeColumnWidth, mDayHeight + mGridRadio, mGridPaint);
+        if (canDrawPictures(canvas)) {
+            if (mHeaderChromePicture == null) {
+                mHeaderChromePicture = new Picture();
+                mHeaderChromeWidth = getWidth();
+                mHeaderChromeHeight = mHeaderHeight;
+                drawHeaderChrome(mHeaderChromePicture.beginRecording(getWidth(), (int) Math.ceil(mHeaderHeight)));
+                mHeaderChromePicture.endRecording();
+            }
 
-        // 'All day' text bottom line.
-        canvas.drawLine(0, mHeaderHeight - mGridRadio, mTimeColumnWidth, mHeaderHeight - mGridRadio, mGridPaint);
+            canvas.drawPicture(mHeaderChromePicture);
+        } else {
+            drawHeaderChrome(canvas);
+        }
 
         // Clip to paint header row only.
         canvas.clipRect(mTimeColumnWidth, 0, getWidth(), mHeaderHeight, Region.Op.REPLACE);
 
-        // Draw 'All day' background.
-        canvas.drawRect(0, mDayHeight, getWidth(), getHeight(), mAllDayBackgroundPaint);
-
-        // 'All day' background top line.
-        canvas.drawLine(0, mDayHeight + mGridRadio, getWidth(), mDayHeight + mGridRadio, mGridPaint);
-
-        // 'All day' background bottom line.
-        canvas.drawLine(0, mHeaderHeight - mGridRadio, getWidth(), mHeaderHeight - mGridRadio, mGridPaint);
-
         // Draw the header row texts.
         startPixel = startFromPixel;
 
         for (int dayNumber = leftDaysWithGaps + 1; dayNumber <= leftDaysWithGaps + mNumberOfVisibleDays + 1; dayNumber++) {
             // Check if the day is today.
-            day = (Calendar) today.clone();
-            day.add(Calendar.DATE, dayNumber - 1);
-            boolean sameDay = isSameDay(day, today);
+            int day = mResources != null ? mResourceEpochDay : mTodayEpochDay + dayNumber - 1;
+            boolean sameDay = day == mTodayEpochDay;
 
             // Draw the day labels.
-            DateTimeInterpreter dateTimeInterpreter;
             float centerX = startPixel + mWidthPerDay / 2.0f;
             float y = mDayHeight / 2 + mHeaderTextPaint.getTextSize() / 2.0f;
 
-            try {
-                dateTimeInterpreter = getDateTimeInterpreter();
-            } catch (IllegalStateException e) {
-                continue;
-            }
-
-            String dayLabel = dateTimeInterpreter.interpretDay(day);
-            String weekdayLabel = dateTimeInterpreter.interpretWeekday(day);
-
-            if (dayLabel == null) {
-                dayLabel = "";
+            if (mResources != null) {
+                // Draw the name of the resource.
+                drawResourceLabel(dayNumber - 1, startPixel, y, canvas);
             } else {
-                dayLabel = dayLabel + " ";
-            }
+                HeaderLabel headerLabel = getHeaderLabel(day);
 
-            if (weekdayLabel == null) {
-                weekdayLabel = "";
-            }
+                if (headerLabel == null) {
+                    continue;
+                }
 
-            // Draw day text.
-            Paint paint = sameDay ? mHeaderTodayPaint : mHeaderNumberTextPaint;
-            canvas.drawText(dayLabel, centerX - paint.measureText(dayLabel), y, sameDay ? mHeaderTodayPaint : mHeaderNumberTextPaint);
+                // Draw day text.
+                if (sameDay) {
+                    canvas.drawText(headerLabel.dayLabel, centerX - headerLabel.todayDayLabelWidth, y, mHeaderTodayPaint);
+                } else {
+                    canvas.drawText(headerLabel.dayLabel, centerX - headerLabel.dayLabelWidth, y, mHeaderNumberTextPaint);
+                }
 
-            // Draw weekday text.
-            canvas.drawText(weekdayLabel, centerX, y, mHeaderTextPaint);
+                // Draw weekday text.
+                canvas.drawText(headerLabel.weekdayLabel, centerX, y, mHeaderTextPaint);
+            }
 
             // Day right line.
             canvas.drawLine(startPixel + mWidthPerDay - mGridRadio, 0, startPixel + mWidthPerDay - mGridRadio, mHeaderHeight, mGridPaint);
 
             // Draw 'All day' events.
-            drawAllDayEvents(day, startPixel, canvas);
+            drawAllDayEvents(getColumnEventRects(day, dayNumber - 1), startPixel, mDrawnAllDayEventRects.get(dayNumber - leftDaysWithGaps - 1), canvas);
 
             startPixel += mWidthPerDay;
         }
     }
 
     /**
-     * Draw all the events of a particular day.
+     * Update the first visible day. It is only allocated when it changes, as it is handed to the
+     * scroll listener.
      *
-     * @param date           The day.
-     * @param startFromPixel The left position of the day area. The events will never go any left from this value.
-     * @param canvas         The canvas to draw upon.
+     * @param firstVisibleEpochDay The epoch day which is now the first visible one.
      */
-    private void drawEvents(Calendar date, float startFromPixel, Canvas canvas) {
-        if (mEventRects != null && mEventRects.size() > 0) {
-            float minuteHeight = mHourHeight / 60.0f;
+    private void updateFirstVisibleDay(int firstVisibleEpochDay) {
+        if (mFirstVisibleDay == null || firstVisibleEpochDay != mFirstVisibleEpochDay) {
+            Calendar oldFirstVisibleDay = mFirstVisibleDay;
+            mFirstVisibleDay = (Calendar) mToday.clone();
+            mFirstVisibleDay.add(Calendar.DATE, firstVisibleEpochDay - mTodayEpochDay);
+            mFirstVisibleEpochDay = firstVisibleEpochDay;
+
+            if (mScrollListener != null) {
+                mScrollListener.onFirstVisibleDayChanged(mFirstVisibleDay, oldFirstVisibleDay);
+            }
+        }
+    }
 
-            for (int i = 0; i < mEventRects.size(); i++) {
-                if (isSameDay(mEventRects.get(i).event.getStartTime(), date) && !mEventRects.get(i).event.isAllDay()) {
-                    // Calculate top.
-                    float top = mHourHeight * 24 * mEventRects.get(i).top / 1440 + mCurrentOrigin.y + mHeaderHeight + mEventMargin;
+    /**
+     * Draw the overview of several weeks: a row of compact day cells per week, which show the day
+     * number and a line for each of their first events. The events which do not fit in a cell are
+     * counted in a "+N more" line, so a cell costs the same however many events its day has. The
+     * weeks scroll vertically and snap to the top of a week.
+     *
+     * @param canvas The canvas to draw upon.
+     */
+    private void drawOverview(Canvas canvas) {
+        updateToday();
 
-                    // Calculate bottom.
-                    float bottom = top + minuteHeight * mEventRects.get(i).bottom - mGridThickness - mEventMargin;
+        int todayWeekStart = OverviewLayout.getWeekStart(mTodayEpochDay, mToday.getFirstDayOfWeek());
+        boolean hasCells = mOverviewLayout.update(getWidth(), getHeight(), mDayHeight, mNumberOfVisibleWeeks, mCurrentOrigin.y, todayWeekStart);
+        mWidthPerDay = mOverviewLayout.getCellWidth();
 
-                    // Calculate left and right.
-                    float left = startFromPixel + mEventRects.get(i).left * mWidthPerDay;
+        if ((mDirtyFlags & DIRTY_GEOMETRY) != 0) {
+            mDirtyFlags &= ~DIRTY_GEOMETRY;
+            mGeometryUpdateCount++;
 
-                    if (left < startFromPixel) {
-                        left += mOverlappingEventGap;
-                    } else {
-                        left += mEventMargin;
-                    }
+            // Apply the scroll to a day which was requested before the dimensions were known. A
+            // scroll to an hour is kept until the hours are shown again.
+            if (mScrollToDay != null) {
+                goToDate(mScrollToDay);
+                hasCells = mOverviewLayout.update(getWidth(), getHeight(), mDayHeight, mNumberOfVisibleWeeks, mCurrentOrigin.y, todayWeekStart);
+            }
 
-                    float right = left + mEventRects.get(i).width * mWidthPerDay - mGridThickness;
+            mScrollToDay = null;
+        }
 
-                    if (right < startFromPixel + mWidthPerDay) {
-                        right -= mOverlappingEventGap;
-                    } else {
-                        right -= mEventMargin * 2;
-                    }
+        if (!hasCells) {
+            return;
+        }
 
-                    // Draw the event and the event name on top of it.
-                    if (left < right && left < getWidth() && top < getHeight() && right > mTimeColumnWidth && bottom > mHeaderHeight) {
-                        mEventRects.get(i).rectF = new RectF(left, top, right, bottom);
-                        mEventBackgroundPaint.setColor(mEventRects.get(i).event.getColor() == 0 ? Color.WHITE : mEventRects.get(i).event.getColor());
-                        canvas.drawRoundRect(mEventRects.get(i).rectF, mEventCornerRadius, mEventCornerRadius, mEventBackgroundPaint);
-                        drawEventTitle(mEventRects.get(i).event, mEventRects.get(i).rectF, canvas, top, left);
-                    } else {
-                        mEventRects.get(i).rectF = null;
-                    }
-                }
+        int firstDay = mOverviewLayout.getFirstDay();
+        int cellCount = mOverviewLayout.getCellCount();
+
+        updateFirstVisibleDay(mOverviewLayout.getNearestWeekStart(mCurrentOrigin.y, todayWeekStart));
+
+        // The loaded periods cover all the weeks of the grid, however many periods they span.
+        int lastDay = firstDay + cellCount - 1;
+
+        if (mEventRectsByDay == null || (mDirtyFlags & DIRTY_DATA) != 0 || (mWeekViewLoader != null && isOutsideFetchedPeriods(firstDay, lastDay))) {
+            getMoreEvents(firstDay, lastDay);
+
+            if ((mDirtyFlags & DIRTY_DATA) != 0) {
+                mDirtyFlags &= ~DIRTY_DATA;
+                mDataUpdateCount++;
             }
         }
-    }
 
-    /**
-     * Draw all the All day-events of a particular day.
-     *
-     * @param date           The day.
-     * @param startFromPixel The left position of the day area. The events will never go any left from this value.
-     * @param canvas         The canvas to draw upon.
-     */
-    private void drawAllDayEvents(Calendar date, float startFromPixel, Canvas canvas) {
-        if (mEventRects != null && mEventRects.size() > 0) {
-            for (int i = 0; i < mEventRects.size(); i++) {
-                if (isSameDay(mEventRects.get(i).event.getStartTime(), date) && mEventRects.get(i).event.isAllDay()) {
-                    // Calculate top.
-                    float top = mDayHeight + mGridThickness + mEventMargin;
+        clearDrawnEventRects(mDrawnEventRects, cellCount);
+        clearDrawnEventRects(mDrawnAllDayEventRects, 0);
 
-                    // Calculate bottom.
-                    float bottom = top + mEventRects.get(i).bottom;
+        // Draw the cells.
+        canvas.clipRect(0, mDayHeight, getWidth(), getHeight(), Region.Op.REPLACE);
+        canvas.drawRect(0, mDayHeight, getWidth(), getHeight(), mBackgroundPaint);
 
-                    // Calculate left and right.
-                    float left = startFromPixel + mEventRects.get(i).left * mWidthPerDay;
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (mOverviewLayout.isCellVisible(cell)) {
+                drawOverviewCell(firstDay + cell, mOverviewLayout.getCellLeft(cell), mOverviewLayout.getCellTop(cell), mDrawnEventRects.get(cell), canvas);
+            }
+        }
 
-                    if (left < startFromPixel) {
-                        left += mOverlappingEventGap;
-                    } else {
-                        left += mEventMargin;
-                    }
+        // Draw the day separators and the week lines at once.
+        int gridLineCount = mOverviewLayout.computeGridLines(mGridLines, mGridRadio);
+        canvas.drawLines(mGridLines.getLines(), 0, gridLineCount * 4, mGridPaint);
 
-                    float right = left + mEventRects.get(i).width * mWidthPerDay - mGridThickness;
+        // Draw the weekdays in the header row.
+        canvas.clipRect(0, 0, getWidth(), mDayHeight, Region.Op.REPLACE);
+        canvas.drawRect(0, 0, getWidth(), mDayHeight, mBackgroundPaint);
+        float y = mDayHeight / 2 + mHeaderTextPaint.getTextSize() / 2.0f;
 
-                    if (right < startFromPixel + mWidthPerDay) {
-                        right -= mOverlappingEventGap;
-                    } else {
-                        right -= mEventMargin * 2;
-                    }
+        for (int column = 0; column < 7; column++) {
+            HeaderLabel headerLabel = getHeaderLabel(firstDay + column);
 
-                    // Draw the event and the event name on top of it.
-                    if (left < right && left < getWidth() && top < getHeight() && right > mTimeColumnWidth && bottom > 0) {
-                        mEventRects.get(i).rectF = new RectF(left, top, right, bottom);
-                        mEventBackgroundPaint.setColor(mEventRects.get(i).event.getColor() == 0 ? Color.WHITE : mEventRects.get(i).event.getColor());
-                        canvas.drawRoundRect(mEventRects.get(i).rectF, mEventCornerRadius, mEventCornerRadius, mEventBackgroundPaint);
-                        drawEventTitle(mEventRects.get(i).event, mEventRects.get(i).rectF, canvas, top, left);
-                    } else {
-                        mEventRects.get(i).rectF = null;
-                    }
-                }
+            if (headerLabel != null) {
+                canvas.drawText(headerLabel.weekdayLabel, column * mWidthPerDay + (mWidthPerDay - headerLabel.weekdayLabelWidth) / 2, y, mHeaderTextPaint);
             }
         }
+
+        canvas.drawLine(0, mDayHeight - mGridRadio, getWidth(), mDayHeight - mGridRadio, mGridPaint);
     }
 
     /**
-     * Draw the name of the event on top of the event rectangle.
+     * Draw a day cell of the overview. Only the events which fit in the cell are picked from the
+     * events of the day, the others are only counted.
      *
-     * @param event        The event of which the title (and location) should be drawn.
-     * @param rect         The rectangle on which the text is to be drawn.
-     * @param canvas       The canvas to draw upon.
-     * @param originalTop  The original top position of the rectangle. The rectangle may have some of its portion outside of the visible area.
-     * @param originalLeft The original left position of the rectangle. The rectangle may have some of its portion outside of the visible area.
+     * @param day        The epoch day.
+     * @param left       The left position of the cell.
+     * @param top        The top position of the cell.
+     * @param drawnRects The list to add the drawn rectangles to, for hit-testing.
+     * @param canvas     The canvas to draw upon.
      */
-    private void drawEventTitle(WeekViewEvent event, RectF rect, Canvas canvas, float originalTop, float originalLeft) {
-        if (rect.right - rect.left - mEventPadding * 2 < 0) {
-            return;
-        }
+    private void drawOverviewCell(int day, float left, float top, List<EventRect> drawnRects, Canvas canvas) {
+        // Draw the day number.
+        HeaderLabel headerLabel = getHeaderLabel(day);
+        float labelHeight = mHeaderNumberTextPaint.getTextSize() + mEventPadding * 2;
 
-        if (rect.bottom - rect.top - mEventPadding * 2 < 0) {
-            return;
+        if (headerLabel != null) {
+            canvas.drawText(headerLabel.dayLabel, left + mEventPadding, top + labelHeight - mEventPadding, day == mTodayEpochDay ? mHeaderTodayPaint : mHeaderNumberTextPaint);
         }
 
-        // Prepare the name of the event.
-        SpannableStringBuilder bob = new SpannableStringBuilder();
-
-        if (event.getName() != null) {
-            bob.append(event.getName());
-            bob.setSpan(new StyleSpan(android.graphics.Typeface.BOLD), 0, bob.length(), 0);
-            bob.append(' ');
-        }
+        List<EventRect> eventRects = mEventRectsByDay != null ? mEventRectsByDay.get(day) : null;
 
-        // Prepare the location of the event.
-        if (event.getLocation() != null) {
-            bob.append(event.getLocation());
+        if (eventRects == null || eventRects.isEmpty()) {
+            return;
         }
 
-        int availableHeight = (int) (rect.bottom - originalTop - mEventPadding * 2);
-        int availableWidth = (int) (rect.right - originalLeft - mEventPadding * 2);
-
-        // Get text dimensions.
-        StaticLayout textLayout = new StaticLayout(bob, mEventTextPaint, availableWidth, Layout.Alignment.ALIGN_NORMAL, 1.0f, 0.0f, false);
-        int lineHeight = textLayout.getHeight() / textLayout.getLineCount();
-
-        if (availableHeight >= lineHeight) {
-            // Calculate top.
-            float top = originalTop + mEventPadding + (availableHeight - lineHeight) / 2.0f;
-
-            // Calculate left.
-            float left = originalLeft + mEventPadding;
-
-            // Add extra space for drawable.
-            if (event.hasDrawable()) {
-                for (int i = 0; i <= 5; i++) {
-                    bob.insert(0, " ");
-                }
-            }
+        float lineHeight = mEventTextPaint.getTextSize() + mEventPadding * 2 + mEventMargin;
+        int lineCount = mOverviewLayout.getLineCount(labelHeight, mGridThickness, lineHeight);
 
-            // Get text.
-            textLayout = getTruncatedEventTitle(bob, availableHeight, availableWidth, lineHeight, event.isAllDay());
+        if (lineCount <= 0) {
+            return;
+        }
 
-            if (textLayout.getLineCount() > 1) {
-                top = originalTop + mEventPadding + (availableHeight - textLayout.getHeight()) / 2.0f;
+        EventRect[] sortedEventRects = getOverviewEvents(day, eventRects);
+        int eventCount = sortedEventRects.length;
+        int shownCount = OverviewLayout.getShownEventCount(eventCount, lineCount);
+        float right = left + mWidthPerDay - mGridThickness - mEventMargin;
+        float lineTop = top + labelHeight;
+
+        for (int i = 0; i < shownCount; i++) {
+            EventRect eventRect = sortedEventRects[i];
+            float eventTop = lineTop + mEventMargin;
+            float eventBottom = lineTop + lineHeight;
+            eventRect.setDrawnRect(left + mEventMargin, eventTop, right, eventBottom);
+            drawnRects.add(eventRect);
+
+            mEventBackgroundPaint.setColor(eventRect.getColor() == 0 ? Color.WHITE : eventRect.getColor());
+            canvas.drawRoundRect(eventRect.rectF, mEventCornerRadius, mEventCornerRadius, mEventBackgroundPaint);
+
+            String name = eventRect.getName();
+
+            if (name != null) {
+                // The name is cut at the end of the line instead of being ellipsized.
+                canvas.save();
+                canvas.clipRect(eventRect.rectF);
+                canvas.drawText(name, left + mEventMargin + mEventPadding, eventBottom - mEventPadding - mEventTextPaint.descent(), mEventTextPaint);
+                canvas.restore();
             }
 
-            // Draw drawable.
-            if (event.hasDrawable()) {
-                Drawable drawable = ContextCompat.getDrawable(getContext(), event.getDrawableId());
-                drawable.setBounds((int) left, (int) top, (int) left + mEventDrawableSize, (int) (top + mEventDrawableSize));
-                drawable.draw(canvas);
-            }
+            lineTop += lineHeight;
+        }
 
-            canvas.save();
-            canvas.translate(left, top);
-            textLayout.draw(canvas);
-            canvas.restore();
+        if (shownCount < eventCount) {
+            canvas.drawText(getMoreEventsLabel(eventCount - shownCount), left + mEventMargin + mEventPadding, lineTop + lineHeight - mEventPadding - mHeaderTextPaint.descent(), mHeaderTextPaint);
         }
     }
 
-    private StaticLayout getTruncatedEventTitle(SpannableStringBuilder bob, int availableHeight, int availableWidth, int lineHeight, boolean isAllDay) {
-        if (isAllDay) {
-            return new StaticLayout(TextUtils.ellipsize(bob, mEventTextPaint, availableWidth, TextUtils.TruncateAt.END), mEventTextPaint, availableWidth, Layout.Alignment.ALIGN_NORMAL, 1.0f, 0.0f, false);
+    /**
+     * Get the events of a day in the order in which the overview shows them: the all day events
+     * first, then the other events by their start. The order is sorted once for each list of
+     * events which is published for the day, and kept until another list replaces it.
+     *
+     * @param day        The epoch day.
+     * @param eventRects The events of the day.
+     * @return The sorted events of the day.
+     */
+    private EventRect[] getOverviewEvents(int day, List<EventRect> eventRects) {
+        OverviewEvents overviewEvents = mOverviewEvents.get(day);
+
+        if (overviewEvents == null || overviewEvents.eventRects != eventRects) {
+            EventRect[] sortedEventRects = eventRects.toArray(new EventRect[eventRects.size()]);
+            OverviewLayout.sortEvents(sortedEventRects);
+            overviewEvents = new OverviewEvents(eventRects, sortedEventRects);
+            mOverviewEvents.put(day, overviewEvents);
         }
 
-        StaticLayout textLayout;
+        return overviewEvents.sortedEventRects;
+    }
 
-        // Calculate available number of line counts.
-        int availableLineCount = availableHeight / lineHeight;
+    /**
+     * Get the label which tells how many events of a day are not shown, from the cache.
+     *
+     * @param count The number of events which are not shown.
+     * @return The label.
+     */
+    private String getMoreEventsLabel(int count) {
+        String label = mMoreEventsLabels.get(count);
 
-        do {
-            // Ellipsize text to fit into event rect.
-            textLayout = new StaticLayout(TextUtils.ellipsize(bob, mEventTextPaint, availableLineCount * availableWidth, TextUtils.TruncateAt.END), mEventTextPaint, availableWidth, Layout.Alignment.ALIGN_NORMAL, 1.0f, 0.0f, false);
+        if (label == null) {
+            label = String.format(mMoreEventsText, count);
+            mMoreEventsLabels.put(count, label);
+        }
 
-            // Reduce line count.
-            availableLineCount--;
+        return label;
+    }
 
-            // Repeat until text is short enough.
-        } while (textLayout.getHeight() > availableHeight);
+    /**
+     * Checks if a point is on the days, rather than on the header row or the time column.
+     *
+     * @param x The x position of the point.
+     * @param y The y position of the point.
+     * @return true if the point is on a day.
+     */
+    private boolean isInDaysArea(float x, float y) {
+        if (mNumberOfVisibleWeeks > 0) {
+            return y > mDayHeight;
+        }
 
-        return textLayout;
+        return x > mTimeColumnWidth && y > mHeaderHeight;
     }
 
     /**
-     * Get the time and date where the user clicked on.
+     * Get the events of a column: the events of its resource in resource mode, or else the events
+     * of its day.
+     *
+     * @param day    The epoch day of the column.
+     * @param column The column, counted from the first resource.
+     * @return The events, or null if there are none.
+     */
+    private List<EventRect> getColumnEventRects(int day, int column) {
+        if (mResources != null) {
+            return mResourceColumns.get(column);
+        }
+
+        return mEventRectsByDay != null ? mEventRectsByDay.get(day) : null;
+    }
+
+    /**
+     * Draw the name of a resource in the header row, centered in its column and cut at its sides.
+     *
+     * @param column     The column of the resource.
+     * @param startPixel The left position of the column.
+     * @param y          The baseline of the name.
+     * @param canvas     The canvas to draw upon.
+     */
+    private void drawResourceLabel(int column, float startPixel, float y, Canvas canvas) {
+        if (column < 0 || column >= mResources.size() || mResources.get(column).getName() == null) {
+            return;
+        }
+
+        String name = mResources.get(column).getName();
+
+        // The names are measured once, like the labels of the days.
+        if (mResourceLabelWidths == null) {
+            mResourceLabelWidths = new float[mResources.size()];
+            Arrays.fill(mResourceLabelWidths, -1);
+        }
+
+        float width = mResourceLabelWidths[column];
+
+        if (width < 0) {
+            width = mHeaderNumberTextPaint.measureText(name);
+            mResourceLabelWidths[column] = width;
+        }
+
+        canvas.save();
+        canvas.clipRect(startPixel, 0, startPixel + mWidthPerDay - mGridThickness, mDayHeight);
+        canvas.drawText(name, startPixel + Math.max(mEventPadding, (mWidthPerDay - width) / 2), y, mHeaderNumberTextPaint);
+        canvas.restore();
+    }
+
+    /**
+     * Get the labels of a day in the header row from the cache, or create and measure them if they
+     * are not cached yet. The cache holds twice the number of visible days, so the visible days,
+     * which follow each other, never share a slot.
+     *
+     * @param day The epoch day.
+     * @return The labels, or null if there is no interpreter.
+     */
+    private HeaderLabel getHeaderLabel(int day) {
+        if (mDateTimeInterpreter == null) {
+            return null;
+        }
+
+        int visibleDayCount = mNumberOfVisibleWeeks > 0 ? (mNumberOfVisibleWeeks + 1) * 7 : mNumberOfVisibleDays + 1;
+
+        if (mHeaderLabels == null || mHeaderLabels.length < visibleDayCount * 2) {
+            mHeaderLabelDays = new int[visibleDayCount * 2];
+            mHeaderLabels = new HeaderLabel[visibleDayCount * 2];
+        }
+
+        int index = day % mHeaderLabels.length;
+
+        if (index < 0) {
+            index += mHeaderLabels.length;
+        }
+
+        HeaderLabel headerLabel = mHeaderLabelDays[index] == day ? mHeaderLabels[index] : null;
+
+        if (headerLabel == null) {
+            Calendar drawDay = getDrawDay(day);
+            String dayLabel = mDateTimeInterpreter.interpretDay(drawDay);
+            String weekdayLabel = mDateTimeInterpreter.interpretWeekday(drawDay);
+            float dayLabelWidth = 0;
+            float todayDayLabelWidth = 0;
+
+            if (dayLabel == null) {
+                dayLabel = "";
+            } else {
+                // The day label is followed by a space.
+                dayLabelWidth = mHeaderNumberTextPaint.measureText(dayLabel) + mHeaderNumberTextPaint.measureText(" ");
+                todayDayLabelWidth = mHeaderTodayPaint.measureText(dayLabel) + mHeaderTodayPaint.measureText(" ");
+            }
+
+            if (weekdayLabel == null) {
+                weekdayLabel = "";
+            }
+
+            headerLabel = new HeaderLabel(dayLabel, weekdayLabel, dayLabelWidth, todayDayLabelWidth, mHeaderTextPaint.measureText(weekdayLabel));
+            mHeaderLabelDays[index] = day;
+            mHeaderLabels[index] = headerLabel;
+        }
+
+        return headerLabel;
+    }
+
+    /**
+     * Forget the labels created by the date, time interpreter, so that they are created again on
+     * the next frame.
+     */
+    private void clearLabels() {
+        mTimeLabels = null;
+        mPeriodLabels = null;
+        mTimeColumnPicture = null;
+        mHeaderChromePicture = null;
+        mHeaderLabelDays = null;
+        mHeaderLabels = null;
+        mResourceLabelWidths = null;
+        mMoreEventsLabels.clear();
+    }
+
+    /**
+     * Forget the event rectangles drawn in the previous frame and make sure that there is a list
+     * for each column of this frame.
+     *
+     * @param drawnEventRects The drawn rectangles per column.
+     * @param columnCount     The number of columns drawn in this frame.
+     */
+    private void clearDrawnEventRects(List<List<EventRect>> drawnEventRects, int columnCount) {
+        for (int i = 0; i < drawnEventRects.size(); i++) {
+            List<EventRect> column = drawnEventRects.get(i);
+
+            for (int j = 0; j < column.size(); j++) {
+                column.get(j).rectF = null;
+            }
+
+            column.clear();
+        }
+
+        while (drawnEventRects.size() < columnCount) {
+            drawnEventRects.add(new ArrayList<EventRect>());
+        }
+    }
+
+    /**
+     * Find the event drawn at a point. The column of the point is found from its x position, and
+     * only the events drawn in that column are checked, last drawn first so that the topmost event
+     * wins. Points in the header only hit all-day events, points below it only other events.
+     *
+     * @param x The x position of the point.
+     * @param y The y position of the point.
+     * @return The event rectangle at the point, or null if there is none.
+     */
+    private EventRect getEventRectAtPoint(float x, float y) {
+        if (mNumberOfVisibleWeeks > 0) {
+            int cell = mOverviewLayout.getCellAtPoint(x, y);
+
+            return cell >= 0 && cell < mDrawnEventRects.size() ? getEventRectAtPoint(mDrawnEventRects.get(cell), x, y) : null;
+        }
+
+        if (x < mTimeColumnWidth || mWidthPerDay <= 0) {
+            return null;
+        }
+
+        List<List<EventRect>> drawnEventRects = y < mHeaderHeight ? mDrawnAllDayEventRects : mDrawnEventRects;
+        int column = (int) Math.floor((x - mDrawnColumnsLeft) / mWidthPerDay);
+
+        if (column < 0 || column >= drawnEventRects.size()) {
+            return null;
+        }
+
+        return getEventRectAtPoint(drawnEventRects.get(column), x, y);
+    }
+
+    /**
+     * Find the event drawn at a point among the events drawn in a column, last drawn first.
+     *
+     * @param eventRects The events drawn in the column.
+     * @param x          The x position of the point.
+     * @param y          The y position of the point.
+     * @return The event rectangle at the point, or null if there is none.
+     */
+    private EventRect getEventRectAtPoint(List<EventRect> eventRects, float x, float y) {
+        for (int i = eventRects.size() - 1; i >= 0; i--) {
+            RectF rect = eventRects.get(i).rectF;
+
+            if (rect != null && x > rect.left && x < rect.right && y > rect.top && y < rect.bottom) {
+                return eventRects.get(i);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Update the start of today, which is only reallocated when the date changes.
+     */
+    private void updateToday() {
+        long now = System.currentTimeMillis();
+
+        if (mToday == null || now < mTodayStartMillis || now >= mTomorrowStartMillis) {
+            mToday = today();
+            mTodayEpochDay = toEpochDay(mToday);
+            mTodayStartMillis = mToday.getTimeInMillis();
+
+            Calendar tomorrow = (Calendar) mToday.clone();
+            tomorrow.add(Calendar.DATE, 1);
+            mTomorrowStartMillis = tomorrow.getTimeInMillis();
+        }
+    }
+
+    /**
+     * Get the start of a day as a calendar, without allocating one. The returned calendar is reused
+     * for each call.
+     *
+     * @param day The epoch day.
+     * @return The start of the day.
+     */
+    private Calendar getDrawDay(int day) {
+        mDrawDay.setTimeInMillis(mTodayStartMillis);
+        mDrawDay.add(Calendar.DATE, day - mTodayEpochDay);
+
+        return mDrawDay;
+    }
+
+    /**
+     * Checks if a day is far enough outside of the fetched period to fetch another one.
+     *
+     * @param day The day.
+     * @return true if the events around the day should be fetched.
+     */
+    private boolean isOutsideFetchedPeriod(Calendar day) {
+        double periodIndex = mWeekViewLoader.toWeekViewPeriodIndex(day);
+
+        return mFetchedPeriod != (int) periodIndex && Math.abs(mFetchedPeriod - periodIndex) > 0.5;
+    }
+
+    /**
+     * Checks if some of the days are outside of the fetched periods.
+     *
+     * @param firstDay The first epoch day.
+     * @param lastDay  The last epoch day.
+     * @return true if the events around the days should be fetched.
+     */
+    private boolean isOutsideFetchedPeriods(int firstDay, int lastDay) {
+        int firstPeriod = (int) mWeekViewLoader.toWeekViewPeriodIndex(getDrawDay(firstDay));
+        int lastPeriod = (int) mWeekViewLoader.toWeekViewPeriodIndex(getDrawDay(lastDay));
+
+        return firstPeriod < mFetchedPeriod - mFetchedPeriodRadius || lastPeriod > mFetchedPeriod + mFetchedPeriodRadius;
+    }
+
+    /**
+     * Draw all the events of a particular day.
+     *
+     * @param eventRects     The events of the day, or null.
+     * @param startFromPixel The left position of the day area. The events will never go any left from this value.
+     * @param drawnRects     The list to add the drawn rectangles to, for hit-testing, or null.
+     * @param canvas         The canvas to draw upon, or null to only position the events.
+     */
+    private void drawEvents(List<EventRect> eventRects, float startFromPixel, List<EventRect> drawnRects, Canvas canvas) {
+        if (eventRects != null && eventRects.size() > 0) {
+            float minuteHeight = mHourHeight / 60.0f;
+
+            for (int i = 0; i < eventRects.size(); i++) {
+                EventRect eventRect = eventRects.get(i);
+                EventLayout.Cluster cluster = eventRect.cluster;
+
+                if (!eventRect.allDay && cluster != null && mWidthPerDay / cluster.columnCount < mMinEventColumnWidth) {
+                    // The columns are too narrow, the whole cluster is drawn as one block by its
+                    // first event.
+                    if (cluster.firstItem == eventRect) {
+                        drawEventCluster(cluster, eventRect, startFromPixel, drawnRects, canvas);
+                    } else {
+                        eventRect.rectF = null;
+                    }
+                } else if (!eventRect.allDay) {
+                    // Calculate top.
+                    float top = mHourHeight * 24 * eventRect.top / 1440 + mCurrentOrigin.y + mHeaderHeight + mEventMargin;
+
+                    // Calculate bottom.
+                    float bottom = top + minuteHeight * eventRect.bottom - mGridThickness - mEventMargin;
+
+                    // Calculate left and right.
+                    float left = startFromPixel + eventRect.left * mWidthPerDay;
+
+                    if (left < startFromPixel) {
+                        left += mOverlappingEventGap;
+                    } else {
+                        left += mEventMargin;
+                    }
+
+                    float right = left + eventRect.width * mWidthPerDay - mGridThickness;
+
+                    if (right < startFromPixel + mWidthPerDay) {
+                        right -= mOverlappingEventGap;
+                    } else {
+                        right -= mEventMargin * 2;
+                    }
+
+                    // Draw the event and the event name on top of it.
+                    if (left < right && left < getWidth() && top < getHeight() && right > mTimeColumnWidth && bottom > mHeaderHeight) {
+                        eventRect.setDrawnRect(left, top, right, bottom);
+
+                        if (drawnRects != null) {
+                            drawnRects.add(eventRect);
+                        }
+
+                        if (canvas != null) {
+                            mEventBackgroundPaint.setColor(eventRect.getColor() == 0 ? Color.WHITE : eventRect.getColor());
+                            canvas.drawRoundRect(eventRect.rectF, mEventCornerRadius, mEventCornerRadius, mEventBackgroundPaint);
+
+                            if (bottom - top >= mMinEventTitleHeight) {
+                                drawEventTitle(eventRect, eventRect.rectF, canvas, top, left);
+                            }
+                        }
+                    } else {
+                        eventRect.rectF = null;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Draw a cluster of overlapping events as a single block across the day, with the number of
+     * events in it.
+     *
+     * @param cluster        The cluster.
+     * @param eventRect      The first event of the cluster, which stands for the cluster.
+     * @param startFromPixel The left position of the day area.
+     * @param drawnRects     The list to add the drawn block to, for hit-testing, or null.
+     * @param canvas         The canvas to draw upon, or null to only position the block.
+     */
+    private void drawEventCluster(EventLayout.Cluster cluster, EventRect eventRect, float startFromPixel, List<EventRect> drawnRects, Canvas canvas) {
+        float top = mHourHeight * 24 * cluster.top / 1440 + mCurrentOrigin.y + mHeaderHeight + mEventMargin;
+        float bottom = top + mHourHeight / 60.0f * cluster.bottom - mGridThickness - mEventMargin;
+        float left = startFromPixel + mEventMargin;
+        float right = left + mWidthPerDay - mGridThickness - mEventMargin * 2;
+
+        if (left < right && left < getWidth() && top < getHeight() && right > mTimeColumnWidth && bottom > mHeaderHeight) {
+            // A tap on the block is reported for the first event of the cluster.
+            eventRect.setDrawnRect(left, top, right, bottom);
+
+            if (drawnRects != null) {
+                drawnRects.add(eventRect);
+            }
+
+            if (canvas != null) {
+                mEventBackgroundPaint.setColor(eventRect.getColor() == 0 ? Color.WHITE : eventRect.getColor());
+                canvas.drawRoundRect(eventRect.rectF, mEventCornerRadius, mEventCornerRadius, mEventBackgroundPaint);
+
+                if (bottom - top >= mMinEventTitleHeight && bottom - top - mEventPadding * 2 >= mEventTextPaint.getTextSize()) {
+                    canvas.drawText(cluster.label, left + mEventPadding, top + mEventPadding - mEventTextPaint.ascent(), mEventTextPaint);
+                }
+            }
+        } else {
+            eventRect.rectF = null;
+        }
+    }
+
+    /**
+     * Draw the rendered tiles of a day which cover the visible hours, rendering the missing ones.
+     *
+     * @param day        The epoch day.
+     * @param startPixel The left position of the day area.
+     * @param canvas     The canvas to draw upon.
+     */
+    private void drawDayTiles(int day, float startPixel, Canvas canvas) {
+        if (mDayTileWidth <= 0 || mDayTileHeight <= 0) {
+            return;
+        }
+
+        int firstBand = (int) Math.floor(-mCurrentOrigin.y / mDayTileHeight);
+        int lastBand = (int) Math.floor((getHeight() - mHeaderHeight - mCurrentOrigin.y) / mDayTileHeight);
+
+        for (int band = firstBand; band <= lastBand; band++) {
+            Bitmap tile = getDayTile(day, band);
+            canvas.drawBitmap(tile, startPixel, mHeaderHeight + mCurrentOrigin.y + band * mDayTileHeight, null);
+        }
+    }
+
+    /**
+     * Get the rendered tile of a day from the cache, or render it if it is not cached yet. A tile
+     * holds the grid lines and the events of one band of the day as high as the area below the
+     * header row, so it stays valid while scrolling horizontally and within the band vertically.
+     *
+     * @param day  The epoch day.
+     * @param band The index of the band, counted from midnight.
+     * @return The rendered tile.
+     */
+    private Bitmap getDayTile(int day, int band) {
+        long key = ((long) day << 32) | (band & 0xffffffffL);
+        Bitmap tile = mDayTileCache.get(key);
+
+        if (tile != null) {
+            return tile;
+        }
+
+        if (mDayTilePool.isEmpty()) {
+            tile = Bitmap.createBitmap(mDayTileWidth, mDayTileHeight, Bitmap.Config.ARGB_8888);
+        } else {
+            tile = mDayTilePool.remove(mDayTilePool.size() - 1);
+            tile.eraseColor(Color.TRANSPARENT);
+        }
+
+        // Draw the band as if it was scrolled to just below the header row, shifted to the tile.
+        float originY = mCurrentOrigin.y;
+        mCurrentOrigin.y = -band * mDayTileHeight;
+        mDayTileCanvas.setBitmap(tile);
+        mDayTileCanvas.save();
+        mDayTileCanvas.translate(-mTimeColumnWidth, -mHeaderHeight);
+
+        float bandTop = mHeaderHeight;
+        float bandBottom = mHeaderHeight + mDayTileHeight;
+
+        // The grid lines are computed like the ones of the whole view, limited to the band. Lines on
+        // the edge of the band are drawn in both tiles, each showing its half, and midnight is left
+        // out as it is always hidden behind the header row.
+        float firstHourTop = mHeaderHeight + mCurrentOrigin.y;
+        int gridLineCount = mGridLines.computeDayLines(mTimeColumnWidth, 1, mWidthPerDay, mTimeColumnWidth, mGridRadio, bandBottom + mGridThickness, firstHourTop, mHourHeight, Math.max(bandTop - mGridThickness, firstHourTop));
+        mDayTileCanvas.drawLines(mGridLines.getLines(), 0, gridLineCount * 4, mGridPaint);
+        drawEvents(mEventRectsByDay != null ? mEventRectsByDay.get(day) : null, mTimeColumnWidth, null, mDayTileCanvas);
+
+        mDayTileCanvas.restore();
+        mDayTileCanvas.setBitmap(null);
+        mCurrentOrigin.y = originY;
+        mDayTileCache.put(key, tile);
+
+        return tile;
+    }
+
+    /**
+     * Make the tiles released in the previous frame available for reuse, and drop all the tiles
+     * when the size of a day changed.
+     */
+    private void prepareDayTiles() {
+        // A released tile may still be referenced by the previous frame until it has been drawn.
+        for (int i = 0; i < mReleasedDayTiles.size() && mDayTilePool.size() < DAY_TILE_POOL_SIZE; i++) {
+            mDayTilePool.add(mReleasedDayTiles.get(i));
+        }
+
+        mReleasedDayTiles.clear();
+
+        int tileWidth = (int) Math.ceil(mWidthPerDay);
+        int tileHeight = (int) Math.ceil(getHeight() - mHeaderHeight);
+
+        if (tileWidth != mDayTileWidth || tileHeight != mDayTileHeight) {
+            clearDayTiles();
+            mDayTileWidth = tileWidth;
+            mDayTileHeight = tileHeight;
+        }
+    }
+
+    /**
+     * Drop all the rendered tiles, along with those kept for reuse.
+     */
+    private void clearDayTiles() {
+        mDayTileCache.evictAll();
+        mReleasedDayTiles.clear();
+        mDayTilePool.clear();
+    }
+
+    /**
+     * Drop the rendered tiles of a day.
+     *
+     * @param day The epoch day.
+     */
+    private void removeDayTiles(int day) {
+        // Going backwards, removing a tile does not move the keys which are still to be checked.
+        for (int i = mDayTileCache.count() - 1; i >= 0; i--) {
+            long key = mDayTileCache.keyAt(i);
+
+            if ((int) (key >> 32) == day) {
+                mDayTileCache.remove(key);
+            }
+        }
+    }
+
+    private LongLruCache<Bitmap> createDayTileCache(int maxBytes) {
+        return new LongLruCache<Bitmap>(maxBytes) {
+            @Override
+            protected int sizeOf(long key, Bitmap tile) {
+                return tile.getByteCount();
+            }
+
+            @Override
+            protected void entryRemoved(long key, Bitmap oldTile) {
+                // The tiles are not recycled, the last frame may still draw them.
+                mReleasedDayTiles.add(oldTile);
+            }
+        };
+    }
+
+    /**
+     * Draw all the All day-events of a particular day.
+     *
+     * @param eventRects     The events of the day, or null.
+     * @param startFromPixel The left position of the day area. The events will never go any left from this value.
+     * @param drawnRects     The list to add the drawn rectangles to, for hit-testing.
+     * @param canvas         The canvas to draw upon.
+     */
+    private void drawAllDayEvents(List<EventRect> eventRects, float startFromPixel, List<EventRect> drawnRects, Canvas canvas) {
+        if (eventRects != null && eventRects.size() > 0) {
+            for (int i = 0; i < eventRects.size(); i++) {
+                EventRect eventRect = eventRects.get(i);
+
+                if (eventRect.allDay) {
+                    // Calculate top.
+                    float top = mDayHeight + mGridThickness + mEventMargin;
+
+                    // Calculate bottom.
+                    float bottom = top + eventRect.bottom;
+
+                    // Calculate left and right.
+                    float left = startFromPixel + eventRect.left * mWidthPerDay;
+
+                    if (left < startFromPixel) {
+                        left += mOverlappingEventGap;
+                    } else {
+                        left += mEventMargin;
+                    }
+
+                    float right = left + eventRect.width * mWidthPerDay - mGridThickness;
+
+                    if (right < startFromPixel + mWidthPerDay) {
+                        right -= mOverlappingEventGap;
+                    } else {
+                        right -= mEventMargin * 2;
+                    }
+
+                    // Draw the event and the event name on top of it.
+                    if (left < right && left < getWidth() && top < getHeight() && right > mTimeColumnWidth && bottom > 0) {
+                        eventRect.setDrawnRect(left, top, right, bottom);
+                        drawnRects.add(eventRect);
+                        mEventBackgroundPaint.setColor(eventRect.getColor() == 0 ? Color.WHITE : eventRect.getColor());
+                        canvas.drawRoundRect(eventRect.rectF, mEventCornerRadius, mEventCornerRadius, mEventBackgroundPaint);
+
+                        if (bottom - top >= mMinEventTitleHeight) {
+                            drawEventTitle(eventRect, eventRect.rectF, canvas, top, left);
+                        }
+                    } else {
+                        eventRect.rectF = null;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Draw the name of the event on top of the event rectangle.
+     *
+     * @param eventRect    The event of which the title (and location) should be drawn.
+     * @param rect         The rectangle on which the text is to be drawn.
+     * @param canvas       The canvas to draw upon.
+     * @param originalTop  The original top position of the rectangle. The rectangle may have some of its portion outside of the visible area.
+     * @param originalLeft The original left position of the rectangle. The rectangle may have some of its portion outside of the visible area.
+     */
+    private void drawEventTitle(EventRect eventRect, RectF rect, Canvas canvas, float originalTop, float originalLeft) {
+        if (rect.right - rect.left - mEventPadding * 2 < 0) {
+            return;
+        }
+
+        if (rect.bottom - rect.top - mEventPadding * 2 < 0) {
+            return;
+        }
+
+        int availableHeight = (int) (rect.bottom - originalTop - mEventPadding * 2);
+        int availableWidth = (int) (rect.right - originalLeft - mEventPadding * 2);
+
+        EventTitleLayout titleLayout = getEventTitleLayout(eventRect, availableWidth, availableHeight);
+
+        if (titleLayout.textLayout != null) {
+            // Calculate top.
+            float top = originalTop + titleLayout.top;
+
+            // Calculate left.
+            float left = originalLeft + mEventPadding;
+
+            // Draw drawable.
+            if (eventRect.hasDrawable()) {
+                Drawable drawable = getEventDrawable(eventRect.getDrawableId());
+
+                if (drawable != null) {
+                    drawable.setBounds((int) left, (int) top, (int) left + mEventDrawableSize, (int) (top + mEventDrawableSize));
+                    drawable.draw(canvas);
+                }
+            }
+
+            canvas.save();
+            canvas.translate(left, top);
+            titleLayout.textLayout.draw(canvas);
+            canvas.restore();
+        }
+    }
+
+    /**
+     * Get the drawable of an event from the cache, or load it if it is not cached yet. The
+     * drawable is shared by all the events with the same resource, which is safe as its bounds are
+     * set right before each draw. It is mutated so that it does not share its state with the
+     * drawables loaded elsewhere from the same resource.
+     *
+     * @param drawableId The resource id of the drawable.
+     * @return The drawable, or null if the resource has none.
+     */
+    private Drawable getEventDrawable(int drawableId) {
+        Drawable drawable = mEventDrawables.get(drawableId);
+
+        if (drawable == null) {
+            drawable = ContextCompat.getDrawable(getContext(), drawableId);
+
+            if (drawable == null) {
+                return null;
+            }
+
+            drawable = drawable.mutate();
+            mEventDrawables.put(drawableId, drawable);
+        }
+
+        return drawable;
+    }
+
+    /**
+     * Get the laid out title of an event from the cache, or lay it out if it is not cached yet. The
+     * layout only depends on the texts of the event and the size of its rectangle, so scrolling
+     * reuses the cached layouts.
+     *
+     * @param eventRect       The event of which the title (and location) should be laid out.
+     * @param availableWidth  The width available for the text.
+     * @param availableHeight The height available for the text.
+     * @return The laid out title.
+     */
+    private EventTitleLayout getEventTitleLayout(EventRect eventRect, int availableWidth, int availableHeight) {
+        mEventTitleLookupKey.set(eventRect, availableWidth, availableHeight, mEventTextPaint.getTextSize());
+        EventTitleLayout titleLayout = mEventTitleCache.get(mEventTitleLookupKey);
+
+        if (titleLayout == null) {
+            titleLayout = layoutEventTitle(eventRect, availableWidth, availableHeight);
+            mEventTitleCache.put(new EventTitleKey(mEventTitleLookupKey), titleLayout);
+        }
+
+        return titleLayout;
+    }
+
+    /**
+     * Lay out the name (and location) of the event to fit into the available space.
+     *
+     * @param eventRect       The event of which the title (and location) should be laid out.
+     * @param availableWidth  The width available for the text.
+     * @param availableHeight The height available for the text.
+     * @return The laid out title, without text layout if not even one line fits.
+     */
+    private EventTitleLayout layoutEventTitle(EventRect eventRect, int availableWidth, int availableHeight) {
+        // Prepare the name of the event.
+        SpannableStringBuilder bob = new SpannableStringBuilder();
+        String name = eventRect.getName();
+        String location = eventRect.getLocation();
+
+        if (name != null) {
+            bob.append(name);
+            bob.setSpan(new StyleSpan(android.graphics.Typeface.BOLD), 0, bob.length(), 0);
+            bob.append(' ');
+        }
+
+        // Prepare the location of the event.
+        if (location != null) {
+            bob.append(location);
+        }
+
+        // Get text dimensions.
+        StaticLayout textLayout = new StaticLayout(bob, mEventTextPaint, availableWidth, Layout.Alignment.ALIGN_NORMAL, 1.0f, 0.0f, false);
+        int lineHeight = textLayout.getHeight() / textLayout.getLineCount();
+
+        if (availableHeight < lineHeight) {
+            return new EventTitleLayout(null, 0);
+        }
+
+        // Calculate top.
+        float top = mEventPadding + (availableHeight - lineHeight) / 2.0f;
+
+        // Add extra space for drawable.
+        if (eventRect.hasDrawable()) {
+            for (int i = 0; i <= 5; i++) {
+                bob.insert(0, " ");
+            }
+        }
+
+        // Get text.
+        textLayout = getTruncatedEventTitle(bob, availableHeight, availableWidth, lineHeight, eventRect.allDay);
+
+        if (textLayout.getLineCount() > 1) {
+            top = mEventPadding + (availableHeight - textLayout.getHeight()) / 2.0f;
+        }
+
+        return new EventTitleLayout(textLayout, top);
+    }
+
+    /**
+     * Lay out the title so that it fits into the available space, ellipsizing it to the largest
+     * number of lines whose wrapped layout fits.
+     *
+     * @param bob             The title.
+     * @param availableHeight The height available for the text.
+     * @param availableWidth  The width available for the text.
+     * @param lineHeight      The height of one line of text.
+     * @param isAllDay        Whether the title is of an all-day event, which gets a single line.
+     * @return The laid out title.
+     */
+    private StaticLayout getTruncatedEventTitle(SpannableStringBuilder bob, int availableHeight, int availableWidth, int lineHeight, boolean isAllDay) {
+        if (isAllDay) {
+            return mEventTitleFitter.layout(mEventTitleFitter.ellipsize(bob, availableWidth), availableWidth);
+        }
+
+        return mEventTitleFitter.fit(bob, availableHeight, availableWidth, lineHeight);
+    }
+
+    /**
+     * Get the time and date where the user clicked on.
      *
      * @param x The x position of the touch event.
      * @param y The y position of the touch event.
      * @return The time and date at the clicked position.
      */
     private Calendar getTimeFromPoint(float x, float y) {
+        if (mNumberOfVisibleWeeks > 0) {
+            // A cell of the overview stands for the start of its day.
+            int cell = mOverviewLayout.getCellAtPoint(x, y);
+
+            if (cell < 0) {
+                return null;
+            }
+
+            Calendar day = today();
+            day.add(Calendar.DATE, mOverviewLayout.getFirstDay() + cell - mTodayEpochDay);
+
+            return day;
+        }
+
         int leftDaysWithGaps = (int) -(Math.ceil(mCurrentOrigin.x / mWidthPerDay));
         float startPixel = mCurrentOrigin.x + mWidthPerDay * leftDaysWithGaps + mTimeColumnWidth;
 
@@ -923,7 +1892,7 @@ public class WeekView extends View {
 
             if (mWidthPerDay + startPixel - start > 0 && x > start && x < startPixel + mWidthPerDay) {
                 Calendar day = today();
-                day.add(Calendar.DATE, dayNumber - 1);
+                day.add(Calendar.DATE, mResources != null ? mResourceEpochDay - toEpochDay(day) : dayNumber - 1);
                 float pixelsFromZero = y - mCurrentOrigin.y - mHeaderHeight;
                 int hour = (int) (pixelsFromZero / mHourHeight);
                 int minute = (int) (60 * (pixelsFromZero - hour * mHourHeight) / mHourHeight);
@@ -945,296 +1914,897 @@ public class WeekView extends View {
     /**
      * Gets more events of one/more month(s) if necessary. This method is called when the user is
      * scrolling the week view. The week view stores the events of three months: the visible month,
-     * the previous month, the next month.
+     * the previous month, the next month. The overview stores as many months as its weeks span,
+     * plus one on each side. When the events are loaded asynchronously, the previously loaded
+     * events are kept on screen until the new ones are published.
      *
-     * @param day The day where the user is currently is.
+     * @param firstDay The first epoch day which is shown.
+     * @param lastDay  The last epoch day which is shown.
      */
-    private void getMoreEvents(Calendar day) {
+    private void getMoreEvents(int firstDay, int lastDay) {
 
         // Get more events if the month is changed.
-        if (mEventRects == null) {
-            mEventRects = new ArrayList<>();
+        if (mEventRectsByDay == null) {
+            mEventRectsByDay = new SparseArray<>();
         }
 
         if (mWeekViewLoader == null && !isInEditMode()) {
             throw new IllegalStateException("You must provide a MonthChangeListener");
         }
 
-        // If a refresh was requested then reset some variables.
-        if (mRefreshEvents) {
-            mEventRects.clear();
-            mPreviousPeriodEvents = null;
-            mCurrentPeriodEvents = null;
-            mNextPeriodEvents = null;
-            mFetchedPeriod = -1;
+        // If a refresh was requested then reset some variables.
+        if ((mDirtyFlags & DIRTY_DATA) != 0) {
+            if (!mLoadEventsAsynchronously) {
+                mEventRectsByDay.clear();
+            }
+
+            clearPeriodCache();
+            mFetchedPeriod = -1;
+            mPendingPeriod = -1;
+        }
+
+        if (mWeekViewLoader == null || isInEditMode()) {
+            return;
+        }
+
+        // Load the period in the middle of the shown ones, along with enough neighbours to cover
+        // the shown days and at least one on each side.
+        int firstPeriod = (int) mWeekViewLoader.toWeekViewPeriodIndex(getDrawDay(firstDay));
+        int lastPeriod = (int) mWeekViewLoader.toWeekViewPeriodIndex(getDrawDay(lastDay));
+        int periodToFetch = firstPeriod + (lastPeriod - firstPeriod) / 2;
+        loadPeriod(periodToFetch, Math.max(1, lastPeriod - periodToFetch));
+    }
+
+    /**
+     * Load the events of the resources of which the columns are visible at a scroll position,
+     * unless they are already loaded or being loaded. The resources are loaded together, only
+     * their columns are laid out.
+     *
+     * @param originX The horizontal scroll position.
+     */
+    private void loadResources(float originX) {
+        if (mResourceLoader == null && !isInEditMode()) {
+            throw new IllegalStateException("You must provide a WeekViewResourceLoader");
+        }
+
+        if (mResourceLoader == null || mWidthPerDay <= 0) {
+            return;
+        }
+
+        // A refresh drops the loaded resources, and the loaded periods for when the days are shown
+        // again.
+        if ((mDirtyFlags & DIRTY_DATA) != 0) {
+            clearResourceEvents();
+            clearPeriodCache();
+            mLoadGeneration++;
+            mFetchedPeriod = -1;
+            mPendingPeriod = -1;
+            mDirtyFlags &= ~DIRTY_DATA;
+            mDataUpdateCount++;
+        }
+
+        int columnCount = mResourceColumns.findColumnsToLoad(originX, mWidthPerDay, mNumberOfVisibleDays, mResources.size());
+
+        if (columnCount == 0) {
+            return;
+        }
+
+        // The load gets its own copy of the reused buffer.
+        int[] columns = Arrays.copyOf(mResourceColumns.getColumnsToLoad(), columnCount);
+        long[] resourceIds = new long[columnCount];
+
+        for (int i = 0; i < columnCount; i++) {
+            resourceIds[i] = mResources.get(columns[i]).getId();
+        }
+
+        Calendar day = today();
+        day.add(Calendar.DATE, mResourceEpochDay - toEpochDay(day));
+        ResourceLoadTask task = new ResourceLoadTask(mResourceLoader, mResourceColumns.getGeneration(), day, mResourceEpochDay, columns, resourceIds);
+
+        if (mLoadEventsAsynchronously) {
+            mResourceColumns.setPending(columns);
+            getLoaderExecutor().execute(task);
+        } else {
+            publishResourceEvents(task, task.load());
+        }
+    }
+
+    /**
+     * Replace the events of the loaded resource columns by those of a load, unless the day or the
+     * resources changed in the meantime.
+     *
+     * @param task               The load.
+     * @param eventRectsByColumn The positioned events of each loaded column.
+     */
+    private void publishResourceEvents(ResourceLoadTask task, SparseArray<List<EventRect>> eventRectsByColumn) {
+        if (!mResourceColumns.finishLoad(task.mGeneration, task.mColumns)) {
+            return;
+        }
+
+        for (int i = 0; i < eventRectsByColumn.size(); i++) {
+            mResourceColumns.put(eventRectsByColumn.keyAt(i), eventRectsByColumn.valueAt(i));
+        }
+    }
+
+    /**
+     * Forget the events of the resources and drop the loads in progress, so that the visible
+     * columns are loaded again on the next frame.
+     */
+    private void clearResourceEvents() {
+        mResourceColumns.clear();
+    }
+
+    /**
+     * Drop the loaded resource columns which show a changed event, so that they are loaded again.
+     *
+     * @param removeId Whether the events with the given id are removed.
+     * @param id       The id of the events to remove.
+     * @param newEvent The added event, or null.
+     */
+    private void reloadResourceColumns(boolean removeId, long id, WeekViewEvent newEvent) {
+        for (int column = 0; column < mResourceColumns.getCapacity(); column++) {
+            List<EventRect> eventRects = mResourceColumns.get(column);
+
+            if (eventRects == null) {
+                continue;
+            }
+
+            boolean changed = newEvent != null && column < mResources.size() && mResources.get(column).getId() == newEvent.getResourceId();
+
+            for (int j = 0; j < eventRects.size() && removeId && !changed; j++) {
+                changed = eventRects.get(j).getId() == id;
+            }
+
+            if (changed) {
+                mResourceColumns.remove(column);
+            }
+        }
+
+        invalidate();
+    }
+
+    /**
+     * Load the events of a period and its neighbours, unless they are already loaded or being
+     * loaded.
+     *
+     * @param periodToFetch The period.
+     * @param periodRadius  The number of neighbours to load on each side of the period.
+     */
+    private void loadPeriod(int periodToFetch, int periodRadius) {
+        if ((mFetchedPeriod >= 0 && mFetchedPeriod == periodToFetch && mFetchedPeriodRadius == periodRadius) || (mPendingPeriod == periodToFetch && mPendingPeriodRadius == periodRadius)) {
+            return;
+        }
+
+        // The days of the periods are found on the UI thread, so that the loader is only asked
+        // for the period of a day from there. Long events are only cut into these days.
+        Calendar calendar = Calendar.getInstance();
+        int firstDay = WeekViewUtil.findFirstDayOfPeriod(mWeekViewLoader, periodToFetch - periodRadius, mFirstVisibleEpochDay, calendar);
+        int nextFirstDay = WeekViewUtil.findFirstDayOfPeriod(mWeekViewLoader, periodToFetch + periodRadius + 1, mFirstVisibleEpochDay, calendar);
+        int lastDay = nextFirstDay == Integer.MAX_VALUE || nextFirstDay == Integer.MIN_VALUE ? nextFirstDay : nextFirstDay - 1;
+        EventLoadTask task = new EventLoadTask(mWeekViewLoader, ++mLoadGeneration, getPeriodCacheGeneration(), periodToFetch, periodRadius, firstDay, lastDay);
+
+        if (mLoadEventsAsynchronously) {
+            mPendingPeriod = periodToFetch;
+            mPendingPeriodRadius = periodRadius;
+            getLoaderExecutor().execute(task);
+        } else {
+            publishEvents(task.load());
+        }
+    }
+
+    /**
+     * Load the periods which the running fling is going to show ahead of time, so that they are
+     * cached by the time they become visible. The periods from the visible one up to the one in
+     * which the fling ends, plus the prefetch horizon beyond it, are loaded on the loader thread.
+     * This only happens when the events are loaded asynchronously, as the loader would otherwise
+     * be called from two threads.
+     */
+    private void prefetchPeriods() {
+        if (!mLoadEventsAsynchronously || mWeekViewLoader == null || mPrefetchHorizon <= 0 || mToday == null || isInEditMode()) {
+            return;
+        }
+
+        if (mCurrentFlingDirection != Direction.LEFT && mCurrentFlingDirection != Direction.RIGHT) {
+            return;
+        }
+
+        // A fling towards negative x shows later days.
+        int finalX = mScroller.getFinalX();
+        int step = finalX < mCurrentOrigin.x ? 1 : -1;
+        int firstVisibleDay = mTodayEpochDay - Math.round(mCurrentOrigin.x / mWidthPerDay);
+        int finalFirstVisibleDay = mTodayEpochDay - Math.round(finalX / mWidthPerDay);
+        int fromDay = step > 0 ? firstVisibleDay + mNumberOfVisibleDays - 1 : firstVisibleDay;
+        int toDay = step > 0 ? finalFirstVisibleDay + mNumberOfVisibleDays - 1 : finalFirstVisibleDay;
+        int fromPeriod = (int) mWeekViewLoader.toWeekViewPeriodIndex(getDrawDay(fromDay));
+        int toPeriod = (int) mWeekViewLoader.toWeekViewPeriodIndex(getDrawDay(toDay)) + step * mPrefetchHorizon;
+
+        // Never prefetch more periods than the cache can hold along with the visible ones.
+        int maxPrefetches = getPeriodCacheSize() - 3;
+        int generation = getPeriodCacheGeneration();
+
+        for (int period = fromPeriod + step, count = 0; period != toPeriod + step && count < maxPrefetches; period += step, count++) {
+            if (mQueuedPrefetches.add(period)) {
+                getLoaderExecutor().execute(new PrefetchTask(mWeekViewLoader, generation, period));
+            }
+        }
+    }
+
+    /**
+     * Get the events of a period from the period cache. May be called from any thread.
+     *
+     * @param periodIndex The period.
+     * @return The events of the period, or null if it is not cached.
+     */
+    private List<? extends WeekViewEvent> getCachedPeriod(int periodIndex) {
+        synchronized (mPeriodCacheLock) {
+            return mPeriodCache.get(periodIndex);
+        }
+    }
+
+    /**
+     * Put the events of a period into the period cache, unless the cache was cleared since the
+     * load was requested. May be called from any thread.
+     *
+     * @param periodIndex The period.
+     * @param events      The events of the period.
+     * @param generation  The generation of the cache when the load was requested.
+     */
+    private void putCachedPeriod(int periodIndex, List<? extends WeekViewEvent> events, int generation) {
+        synchronized (mPeriodCacheLock) {
+            if (generation == mPeriodCacheGeneration) {
+                mPeriodCache.put(periodIndex, events);
+            }
+        }
+    }
+
+    /**
+     * Get the events of a period from the period cache, or load and cache them if they are not
+     * cached. May be called from any thread.
+     *
+     * @param loader      The loader.
+     * @param periodIndex The period.
+     * @param generation  The generation of the cache when the load was requested.
+     * @return The events of the period.
+     */
+    private List<? extends WeekViewEvent> getPeriodEvents(WeekViewLoader loader, int periodIndex, int generation) {
+        List<? extends WeekViewEvent> events = getCachedPeriod(periodIndex);
+
+        if (events == null) {
+            // The loaded list is left as it is, a sorted copy is cached if it is not in order.
+            events = EventOrder.toSortedEvents(loader.onLoad(periodIndex));
+            putCachedPeriod(periodIndex, events, generation);
+        }
+
+        return events;
+    }
+
+    private int getPeriodCacheGeneration() {
+        synchronized (mPeriodCacheLock) {
+            return mPeriodCacheGeneration;
+        }
+    }
+
+    private void clearPeriodCache() {
+        synchronized (mPeriodCacheLock) {
+            mPeriodCache.evictAll();
+            mPeriodCacheGeneration++;
+        }
+
+        mQueuedPrefetches.clear();
+    }
+
+    /**
+     * Makes the loaded events visible. Must be called on the UI thread, so that drawing always
+     * sees a complete set of events.
+     *
+     * @param snapshot The loaded events along with their computed positions.
+     */
+    private void publishEvents(EventsSnapshot snapshot) {
+        if (snapshot.generation != mLoadGeneration) {
+            // A newer load was requested in the meantime.
+            return;
+        }
+
+        mFetchedPeriod = snapshot.periodIndex;
+        mFetchedPeriodRadius = snapshot.periodRadius;
+        mFetchedFirstDay = snapshot.firstDay;
+        mFetchedLastDay = snapshot.lastDay;
+        mPendingPeriod = -1;
+        mEventRectsByDay = snapshot.eventRectsByDay;
+        mOverviewEvents.clear();
+        mDayTileCache.evictAll();
+    }
+
+    /**
+     * Tell the listener that a load on the loader thread failed, or log the failure if there is
+     * no listener. Must be called on the UI thread.
+     *
+     * @param e The exception thrown by the loader.
+     */
+    private void reportLoadFailure(RuntimeException e) {
+        if (mLoadFailureListener != null) {
+            mLoadFailureListener.onLoadFailed(e);
+        } else {
+            Log.e(TAG, "Loading the events failed", e);
+        }
+    }
+
+    private ExecutorService getLoaderExecutor() {
+        if (mLoaderExecutor == null) {
+            mLoaderExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "WeekView-loader");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+
+                    return thread;
+                }
+            });
+        }
+
+        return mLoaderExecutor;
+    }
+
+    /**
+     * Cache the event for smooth scrolling functionality.
+     *
+     * @param event      The event to cache.
+     * @param eventRects The list to add the rectangles of the event to.
+     * @param firstDay   The first epoch day to add rectangles for.
+     * @param lastDay    The last epoch day to add rectangles for.
+     * @param calendar   A calendar to compute the days with, which is reused between events.
+     */
+    private void cacheEvent(WeekViewEvent event, List<EventRect> eventRects, int firstDay, int lastDay, Calendar calendar) {
+        if (event.getStartTimeInMillis() >= event.getEndTimeInMillis()) {
+            return;
+        }
+
+        cacheDaySpan(event.getDaySpan(calendar), event, null, -1, eventRects, firstDay, lastDay, calendar);
+    }
+
+    /**
+     * Cache the events of a period in order of their start, without modifying the list.
+     *
+     * @param events     The events to be cached.
+     * @param eventRects The list to add the rectangles of the events to.
+     * @param firstDay   The first epoch day to add rectangles for.
+     * @param lastDay    The last epoch day to add rectangles for.
+     */
+    private void cacheEvents(List<? extends WeekViewEvent> events, List<EventRect> eventRects, int firstDay, int lastDay) {
+        List<List<? extends WeekViewEvent>> periods = new ArrayList<>(1);
+        periods.add(events);
+        cachePeriodEvents(periods, eventRects, firstDay, lastDay);
+    }
+
+    /**
+     * Cache the events of several periods in order of their start, as merged by
+     * {@link EventOrder.Merge}, so that the events of each day end up in order of their start. The
+     * events of a {@link WeekViewEventStore} are cached straight from its arrays.
+     *
+     * @param periods    The events of each period.
+     * @param eventRects The list to add the rectangles of the events to.
+     * @param firstDay   The first epoch day to add rectangles for.
+     * @param lastDay    The last epoch day to add rectangles for.
+     */
+    private void cachePeriodEvents(List<List<? extends WeekViewEvent>> periods, List<EventRect> eventRects, int firstDay, int lastDay) {
+        EventOrder.Merge merge = new EventOrder.Merge(periods);
+        Calendar calendar = Calendar.getInstance();
+
+        while (merge.next()) {
+            List<? extends WeekViewEvent> events = periods.get(merge.getPeriod());
+
+            if (events instanceof WeekViewEventStore) {
+                cacheStoreEvent((WeekViewEventStore) events, merge.getIndex(), eventRects, firstDay, lastDay, calendar);
+            } else {
+                cacheEvent(events.get(merge.getIndex()), eventRects, firstDay, lastDay, calendar);
+            }
+        }
+    }
+
+    /**
+     * Cache one event of a store.
+     *
+     * @param store      The store of the event.
+     * @param index      The index of the event in the store.
+     * @param eventRects The list to add the rectangles of the event to.
+     * @param firstDay   The first epoch day to add rectangles for.
+     * @param lastDay    The last epoch day to add rectangles for.
+     * @param calendar   A calendar to compute the days with, which is reused between events.
+     */
+    private void cacheStoreEvent(WeekViewEventStore store, int index, List<EventRect> eventRects, int firstDay, int lastDay, Calendar calendar) {
+        if (store.getStartTimeInMillis(index) >= store.getEndTimeInMillis(index)) {
+            return;
+        }
+
+        cacheDaySpan(store.getDaySpan(index, calendar), null, store, index, eventRects, firstDay, lastDay, calendar);
+    }
+
+    /**
+     * Add a rectangle for each day of an event within the given days. Only the days which are
+     * added are computed, so an event which expands over months costs no more than a short one.
+     * Just like {@link WeekViewEvent#splitWeekViewEvents()}, the days in between the first and the
+     * last day do not show the location, and only events of a single day show their drawable.
+     *
+     * @param daySpan    The days of the event.
+     * @param event      The event, or null for an event of a store.
+     * @param store      The store of the event, or null.
+     * @param index      The index of the event in the store.
+     * @param eventRects The list to add the rectangles of the event to.
+     * @param firstDay   The first epoch day to add rectangles for.
+     * @param lastDay    The last epoch day to add rectangles for.
+     * @param calendar   A calendar in the time zone of the days.
+     */
+    private void cacheDaySpan(DaySpan daySpan, WeekViewEvent event, WeekViewEventStore store, int index, List<EventRect> eventRects, int firstDay, int lastDay, Calendar calendar) {
+        if (daySpan.isSingleDay()) {
+            if (daySpan.startDay >= firstDay && daySpan.startDay <= lastDay) {
+                eventRects.add(new EventRect(event, store, index, daySpan.startMillis, daySpan.endMillis, daySpan.startDay, daySpan.startMinuteOfDay, true, true));
+            }
+
+            return;
+        }
+
+        int fromDay = Math.max(daySpan.startDay, firstDay);
+        int toDay = Math.min(daySpan.endDay, lastDay);
+
+        for (int day = fromDay; day <= toDay; day++) {
+            boolean isStartDay = day == daySpan.startDay;
+            boolean showLocation = isStartDay || day == daySpan.endDay;
+            eventRects.add(new EventRect(event, store, index, daySpan.getDayStartMillis(day, calendar), daySpan.getDayEndMillis(day, calendar), day, isStartDay ? daySpan.startMinuteOfDay : 0, showLocation, false));
+        }
+    }
+
+    /**
+     * Calculates the left and right positions of each events. This comes handy specially if events
+     * are overlapping.
+     *
+     * @param eventRects The events along with their wrapper class.
+     * @param result     The list to add the positioned events to.
+     */
+    private void computePositionOfEvents(List<EventRect> eventRects, List<EventRect> result) {
+        EventLayout.computePositions(eventRects, mAllDayEventHeight - mGridThickness * 2 - mEventMargin * 2, result);
+    }
+
+    /**
+     * Apply a change of a single event to the loaded events. The cached period which holds the
+     * event is replaced by a copy with the change applied, and only the days on which the event
+     * was or is drawn are laid out again.
+     *
+     * @param removeId Whether the events with the given id are removed.
+     * @param id       The id of the events to remove.
+     * @param newEvent The event to add, or null.
+     */
+    private void changeEvent(boolean removeId, long id, WeekViewEvent newEvent) {
+        if (mResources != null) {
+            reloadResourceColumns(removeId, id, newEvent);
+        }
+
+        if (mWeekViewLoader == null) {
+            return;
+        }
+
+        int newEventPeriod = newEvent != null ? (int) mWeekViewLoader.toWeekViewPeriodIndex(newEvent.getStartTime()) : 0;
+        List<EventRect> oldEventRects = new ArrayList<>();
+        boolean isNewEventCached = false;
+        boolean isCacheChanged = false;
+
+        synchronized (mPeriodCacheLock) {
+            for (Map.Entry<Integer, List<? extends WeekViewEvent>> entry : mPeriodCache.snapshot().entrySet()) {
+                int period = entry.getKey();
+                List<? extends WeekViewEvent> events = entry.getValue();
+                List<? extends WeekViewEvent> changedEvents = events;
+
+                if (removeId) {
+                    changedEvents = removeEvents(changedEvents, id, oldEventRects);
+                }
+
+                if (newEvent != null && period == newEventPeriod) {
+                    changedEvents = addEvent(changedEvents, newEvent);
+                    isNewEventCached = true;
+                }
+
+                if (changedEvents != events) {
+                    mPeriodCache.put(period, changedEvents);
+                    isCacheChanged = true;
+                }
+            }
+
+            // Keep loads which are in progress from caching the periods as they were.
+            if (isCacheChanged) {
+                mPeriodCacheGeneration++;
+            }
+        }
+
+        if (newEvent != null && !isNewEventCached && mFetchedPeriod >= 0 && Math.abs(newEventPeriod - mFetchedPeriod) <= mFetchedPeriodRadius) {
+            // The period of the new event is loaded but was dropped from the cache, so it is
+            // loaded again like an invalidated period.
+            reloadPeriods(newEventPeriod, newEventPeriod);
+        }
+
+        if (!removeId && !isNewEventCached) {
+            // The period of the new event is not cached, the loader provides it when needed.
+            return;
+        }
+
+        // A load in progress may have read the cache before the change, so request it again.
+        if (isCacheChanged && mPendingPeriod != -1) {
+            int pendingPeriod = mPendingPeriod;
+            mPendingPeriod = -1;
+            loadPeriod(pendingPeriod, mPendingPeriodRadius);
+        }
+
+        if (mEventRectsByDay == null || mFetchedPeriod < 0 || mToday == null) {
+            return;
+        }
+
+        // Find the days to lay out again. If the old event was not found in the cache, the loaded
+        // days are searched for it.
+        List<EventRect> newEventRects = new ArrayList<>();
+
+        if (isNewEventCached) {
+            cacheEvent(newEvent, newEventRects, mFetchedFirstDay, mFetchedLastDay, Calendar.getInstance());
+        }
+
+        Set<Integer> changedDays = new HashSet<>();
+
+        for (int i = 0; i < oldEventRects.size(); i++) {
+            changedDays.add(oldEventRects.get(i).day);
         }
 
-        if (mWeekViewLoader != null) {
-            int periodToFetch = (int) mWeekViewLoader.toWeekViewPeriodIndex(day);
-
-            if (!isInEditMode() && (mFetchedPeriod < 0 || mFetchedPeriod != periodToFetch || mRefreshEvents)) {
-                List<? extends WeekViewEvent> previousPeriodEvents = null;
-                List<? extends WeekViewEvent> currentPeriodEvents = null;
-                List<? extends WeekViewEvent> nextPeriodEvents = null;
-
-                if (mPreviousPeriodEvents != null && mCurrentPeriodEvents != null && mNextPeriodEvents != null) {
-                    if (periodToFetch == mFetchedPeriod - 1) {
-                        currentPeriodEvents = mPreviousPeriodEvents;
-                        nextPeriodEvents = mCurrentPeriodEvents;
-                    } else if (periodToFetch == mFetchedPeriod) {
-                        previousPeriodEvents = mPreviousPeriodEvents;
-                        currentPeriodEvents = mCurrentPeriodEvents;
-                        nextPeriodEvents = mNextPeriodEvents;
-                    } else if (periodToFetch == mFetchedPeriod + 1) {
-                        previousPeriodEvents = mCurrentPeriodEvents;
-                        currentPeriodEvents = mNextPeriodEvents;
+        if (removeId && oldEventRects.isEmpty()) {
+            for (int i = 0; i < mEventRectsByDay.size(); i++) {
+                List<EventRect> eventRects = mEventRectsByDay.valueAt(i);
+
+                for (int j = 0; j < eventRects.size(); j++) {
+                    if (eventRects.get(j).getId() == id) {
+                        changedDays.add(mEventRectsByDay.keyAt(i));
+                        break;
                     }
                 }
+            }
+        }
 
-                if (currentPeriodEvents == null) {
-                    currentPeriodEvents = mWeekViewLoader.onLoad(periodToFetch);
-                }
+        for (int i = 0; i < newEventRects.size(); i++) {
+            changedDays.add(newEventRects.get(i).day);
+        }
 
-                if (previousPeriodEvents == null) {
-                    previousPeriodEvents = mWeekViewLoader.onLoad(periodToFetch - 1);
-                }
+        int firstChangedColumn = Integer.MAX_VALUE;
+        int lastChangedColumn = Integer.MIN_VALUE;
 
-                if (nextPeriodEvents == null) {
-                    nextPeriodEvents = mWeekViewLoader.onLoad(periodToFetch + 1);
-                }
+        for (int day : changedDays) {
+            // Only the days of the loaded periods are laid out.
+            if (day < mFetchedFirstDay || day > mFetchedLastDay) {
+                continue;
+            }
 
+            relayoutDay(day, removeId, id, newEventRects);
 
-                // Clear events.
-                mEventRects.clear();
-                sortAndCacheEvents(previousPeriodEvents);
-                sortAndCacheEvents(currentPeriodEvents);
-                sortAndCacheEvents(nextPeriodEvents);
+            int column = day - mDrawnColumnsFirstDay;
 
-                mPreviousPeriodEvents = previousPeriodEvents;
-                mCurrentPeriodEvents = currentPeriodEvents;
-                mNextPeriodEvents = nextPeriodEvents;
-                mFetchedPeriod = periodToFetch;
+            if (column >= 0 && column <= mNumberOfVisibleDays) {
+                firstChangedColumn = Math.min(firstChangedColumn, column);
+                lastChangedColumn = Math.max(lastChangedColumn, column);
             }
         }
 
-        // Prepare to calculate positions of each events.
-        List<EventRect> tempEvents = mEventRects;
-        mEventRects = new ArrayList<EventRect>();
+        // Redraw the visible columns which changed.
+        if (firstChangedColumn <= lastChangedColumn) {
+            int left = (int) Math.max(mTimeColumnWidth, mDrawnColumnsLeft + firstChangedColumn * mWidthPerDay);
+            int right = (int) Math.ceil(mDrawnColumnsLeft + (lastChangedColumn + 1) * mWidthPerDay);
+            invalidate(left, 0, Math.min(right, getWidth()), getHeight());
+        }
+    }
+
+    /**
+     * Drop periods from the period cache and reload those among the loaded periods. Only the days
+     * on which the events of the reloaded periods were or are drawn are laid out again.
+     *
+     * @param fromPeriodIndex The first period.
+     * @param toPeriodIndex   The last period.
+     */
+    private void reloadPeriods(int fromPeriodIndex, int toPeriodIndex) {
+        SparseArray<List<? extends WeekViewEvent>> reloadedPeriods = new SparseArray<>();
+        int generation;
 
-        // Iterate through each day with events to calculate the position of the events.
-        while (tempEvents.size() > 0) {
-            ArrayList<EventRect> eventRects = new ArrayList<>(tempEvents.size());
+        synchronized (mPeriodCacheLock) {
+            // Only the cached periods and the loaded ones are affected, however wide the range is.
+            Map<Integer, List<? extends WeekViewEvent>> cachedPeriods = mPeriodCache.snapshot();
 
-            // Get first event for a day.
-            EventRect eventRect1 = tempEvents.remove(0);
-            eventRects.add(eventRect1);
+            for (int period : cachedPeriods.keySet()) {
+                if (period >= fromPeriodIndex && period <= toPeriodIndex) {
+                    mPeriodCache.remove(period);
+                }
+            }
 
-            int i = 0;
+            if (mFetchedPeriod >= 0) {
+                int firstPeriod = Math.max(fromPeriodIndex, mFetchedPeriod - mFetchedPeriodRadius);
+                int lastPeriod = Math.min(toPeriodIndex, mFetchedPeriod + mFetchedPeriodRadius);
 
-            while (i < tempEvents.size()) {
-                // Collect all other events for same day.
-                EventRect eventRect2 = tempEvents.get(i);
-                if (isSameDay(eventRect1.event.getStartTime(), eventRect2.event.getStartTime())) {
-                    tempEvents.remove(i);
-                    eventRects.add(eventRect2);
-                } else {
-                    i++;
+                for (int period = firstPeriod; period <= lastPeriod; period++) {
+                    reloadedPeriods.put(period, cachedPeriods.get(period));
                 }
             }
 
-            computePositionOfEvents(eventRects);
+            // Keep loads which are in progress from caching the periods as they were.
+            mPeriodCacheGeneration++;
+            generation = mPeriodCacheGeneration;
         }
-    }
 
-    /**
-     * Cache the event for smooth scrolling functionality.
-     *
-     * @param event The event to cache.
-     */
-    private void cacheEvent(WeekViewEvent event) {
-        if (event.getStartTime().compareTo(event.getEndTime()) >= 0) {
+        if (mWeekViewLoader == null || isInEditMode()) {
+            return;
+        }
+
+        // A load in progress may have read the cache before, so request it again.
+        if (mPendingPeriod != -1) {
+            int pendingPeriod = mPendingPeriod;
+            mPendingPeriod = -1;
+            loadPeriod(pendingPeriod, mPendingPeriodRadius);
+
+            return;
+        }
+
+        if (reloadedPeriods.size() == 0 || mEventRectsByDay == null) {
             return;
         }
 
-        List<WeekViewEvent> splitedEvents = event.splitWeekViewEvents();
+        // The old events of a period which was dropped from the cache are unknown, so all the
+        // loaded days of the period are laid out again.
+        Set<Integer> unknownDays = new HashSet<>();
+        Calendar calendar = Calendar.getInstance();
+
+        for (int i = 0; i < reloadedPeriods.size(); i++) {
+            if (reloadedPeriods.valueAt(i) == null) {
+                addLoadedDaysOfPeriod(reloadedPeriods.keyAt(i), unknownDays, calendar);
+            }
+        }
+
+        PeriodReloadTask task = new PeriodReloadTask(mWeekViewLoader, mLoadGeneration, generation, mFetchedPeriod, mFetchedPeriodRadius, mFetchedFirstDay, mFetchedLastDay, reloadedPeriods, unknownDays);
 
-        for (WeekViewEvent splitedEvent : splitedEvents) {
-            mEventRects.add(new EventRect(splitedEvent, event, null));
+        if (mLoadEventsAsynchronously) {
+            getLoaderExecutor().execute(task);
+        } else {
+            publishReloadedDays(task, task.load());
+            invalidate();
         }
     }
 
     /**
-     * Sort and cache events.
+     * Add the days of a period which have loaded events.
      *
-     * @param events The events to be sorted and cached.
+     * @param period   The period.
+     * @param days     The set to add the epoch days to.
+     * @param calendar A calendar to compute the days with.
      */
-    private void sortAndCacheEvents(List<? extends WeekViewEvent> events) {
-        sortEvents(events);
+    private void addLoadedDaysOfPeriod(int period, Set<Integer> days, Calendar calendar) {
+        int firstDay = Math.max(mFetchedFirstDay, WeekViewUtil.findFirstDayOfPeriod(mWeekViewLoader, period, mFirstVisibleEpochDay, calendar));
+        int nextFirstDay = WeekViewUtil.findFirstDayOfPeriod(mWeekViewLoader, period + 1, mFirstVisibleEpochDay, calendar);
+        int lastDay = Math.min(mFetchedLastDay, nextFirstDay == Integer.MIN_VALUE ? nextFirstDay : nextFirstDay - 1);
+
+        for (int i = 0; i < mEventRectsByDay.size(); i++) {
+            int day = mEventRectsByDay.keyAt(i);
 
-        for (WeekViewEvent event : events) {
-            cacheEvent(event);
+            if (day >= firstDay && day <= lastDay) {
+                days.add(day);
+            }
         }
     }
 
     /**
-     * Sorts the events in ascending order.
+     * Replace the layout of the days which were laid out again after reloading periods. Must be
+     * called on the UI thread.
      *
-     * @param events The events to be sorted.
+     * @param task         The reload.
+     * @param reloadedDays The events of the days which were laid out again, with an empty list
+     *                     for days without events.
      */
-    private void sortEvents(List<? extends WeekViewEvent> events) {
-        Collections.sort(events, new Comparator<WeekViewEvent>() {
-            @Override
-            public int compare(WeekViewEvent event1, WeekViewEvent event2) {
-                long start1 = event1.getStartTime().getTimeInMillis();
-                long start2 = event2.getStartTime().getTimeInMillis();
-                int comparator = start1 > start2 ? 1 : (start1 < start2 ? -1 : 0);
-
-                if (comparator == 0) {
-                    long end1 = event1.getEndTime().getTimeInMillis();
-                    long end2 = event2.getEndTime().getTimeInMillis();
-                    comparator = end1 > end2 ? 1 : (end1 < end2 ? -1 : 0);
-                }
+    private void publishReloadedDays(PeriodReloadTask task, SparseArray<List<EventRect>> reloadedDays) {
+        if (task.mGeneration != mLoadGeneration || task.mFetchedPeriod != mFetchedPeriod || mEventRectsByDay == null) {
+            // Other periods were loaded in the meantime.
+            return;
+        }
+
+        for (int i = 0; i < reloadedDays.size(); i++) {
+            List<EventRect> dayEventRects = reloadedDays.valueAt(i);
 
-                return comparator;
+            if (dayEventRects.isEmpty()) {
+                mEventRectsByDay.remove(reloadedDays.keyAt(i));
+            } else {
+                mEventRectsByDay.put(reloadedDays.keyAt(i), dayEventRects);
             }
-        });
+
+            removeDayTiles(reloadedDays.keyAt(i));
+        }
     }
 
     /**
-     * Calculates the left and right positions of each events. This comes handy specially if events
-     * are overlapping.
+     * Lay out the events of a day again after a change of an event.
      *
-     * @param eventRects The events along with their wrapper class.
+     * @param day           The epoch day.
+     * @param removeId      Whether the events with the given id are removed.
+     * @param id            The id of the events to remove.
+     * @param newEventRects The rectangles of the added event, of which those of the day are added.
      */
-    private void computePositionOfEvents(List<EventRect> eventRects) {
-        // Make "collision groups" for all events that collide with others.
-        List<List<EventRect>> collisionGroups = new ArrayList<List<EventRect>>();
+    private void relayoutDay(int day, boolean removeId, long id, List<EventRect> newEventRects) {
+        removeDayTiles(day);
 
-        for (EventRect eventRect : eventRects) {
-            boolean isPlaced = false;
+        List<EventRect> oldDayEventRects = mEventRectsByDay.get(day);
+        List<EventRect> dayEventRects = new ArrayList<>();
 
-            outerLoop:
-            for (List<EventRect> collisionGroup : collisionGroups) {
-                for (EventRect groupEvent : collisionGroup) {
-                    if (isEventsCollide(groupEvent.event, eventRect.event) && groupEvent.event.isAllDay() == eventRect.event.isAllDay()) {
-                        collisionGroup.add(eventRect);
-                        isPlaced = true;
+        if (oldDayEventRects != null) {
+            for (int i = 0; i < oldDayEventRects.size(); i++) {
+                EventRect eventRect = oldDayEventRects.get(i);
 
-                        break outerLoop;
-                    }
+                if (!removeId || eventRect.getId() != id) {
+                    dayEventRects.add(eventRect);
                 }
             }
+        }
 
-            if (!isPlaced) {
-                List<EventRect> newGroup = new ArrayList<EventRect>();
-                newGroup.add(eventRect);
-                collisionGroups.add(newGroup);
+        for (int i = 0; i < newEventRects.size(); i++) {
+            if (newEventRects.get(i).day == day) {
+                dayEventRects.add(newEventRects.get(i));
             }
         }
 
-        for (List<EventRect> collisionGroup : collisionGroups) {
-            expandEventsToMaxWidth(collisionGroup);
+        if (dayEventRects.isEmpty()) {
+            mEventRectsByDay.remove(day);
+
+            return;
         }
+
+        // Lay out in the same order as a load does.
+        Collections.sort(dayEventRects, new Comparator<EventRect>() {
+            @Override
+            public int compare(EventRect eventRect1, EventRect eventRect2) {
+                if (eventRect1.startMillis != eventRect2.startMillis) {
+                    return eventRect1.startMillis < eventRect2.startMillis ? -1 : 1;
+                }
+
+                if (eventRect1.endMillis != eventRect2.endMillis) {
+                    return eventRect1.endMillis < eventRect2.endMillis ? -1 : 1;
+                }
+
+                return 0;
+            }
+        });
+
+        List<EventRect> positionedEventRects = new ArrayList<>(dayEventRects.size());
+        computePositionOfEvents(dayEventRects, positionedEventRects);
+        mEventRectsByDay.put(day, positionedEventRects);
     }
 
     /**
-     * Expands all the events to maximum possible width. The events will try to occupy maximum
-     * space available horizontally.
+     * Get a copy of the events of a period without the events with the given id.
      *
-     * @param collisionGroup The group of events which overlap with each other.
+     * @param events        The events.
+     * @param id            The id of the events to remove.
+     * @param removedEvents The list to add the rectangles of the removed events on the loaded days
+     *                      to.
+     * @return The copy, or the same events if none has the id.
      */
-    private void expandEventsToMaxWidth(List<EventRect> collisionGroup) {
-        // Expand the events to maximum possible width.
-        List<List<EventRect>> columns = new ArrayList<List<EventRect>>();
-        columns.add(new ArrayList<EventRect>());
+    private List<? extends WeekViewEvent> removeEvents(List<? extends WeekViewEvent> events, long id, List<EventRect> removedEvents) {
+        Calendar calendar = Calendar.getInstance();
 
-        for (EventRect eventRect : collisionGroup) {
-            boolean isPlaced = false;
+        if (events instanceof WeekViewEventStore) {
+            WeekViewEventStore store = (WeekViewEventStore) events;
+            WeekViewEventStore changedStore = null;
 
-            for (List<EventRect> column : columns) {
-                if (column.size() == 0) {
-                    column.add(eventRect);
-                    isPlaced = true;
-                } else if (!isEventsCollide(eventRect.event, column.get(column.size() - 1).event)) {
-                    column.add(eventRect);
-                    isPlaced = true;
+            for (int i = 0; i < store.size(); i++) {
+                if (store.getId(i) == id) {
+                    if (changedStore == null) {
+                        changedStore = new WeekViewEventStore(store.size());
 
-                    break;
-                }
-            }
+                        for (int j = 0; j < i; j++) {
+                            changedStore.add(store, j);
+                        }
+                    }
 
-            if (!isPlaced) {
-                List<EventRect> newColumn = new ArrayList<EventRect>();
-                newColumn.add(eventRect);
-                columns.add(newColumn);
+                    cacheStoreEvent(store, i, removedEvents, mFetchedFirstDay, mFetchedLastDay, calendar);
+                } else if (changedStore != null) {
+                    changedStore.add(store, i);
+                }
             }
-        }
-
 
-        // Calculate left and right position for all the events.
-        // Get the maxRowCount by looking in all columns.
-        int maxRowCount = 0;
-
-        for (List<EventRect> column : columns) {
-            maxRowCount = Math.max(maxRowCount, column.size());
+            return changedStore != null ? changedStore : store;
         }
 
-        for (int i = 0; i < maxRowCount; i++) {
-            // Set the left and right values of the event.
-            float j = 0;
-
-            for (List<EventRect> column : columns) {
-                if (column.size() >= i + 1) {
-                    EventRect eventRect = column.get(i);
-                    eventRect.width = 1f / columns.size();
-                    eventRect.left = j / columns.size();
+        List<WeekViewEvent> changedEvents = null;
 
-                    if (!eventRect.event.isAllDay()) {
-                        eventRect.top = eventRect.event.getStartTime().get(Calendar.HOUR_OF_DAY) * 60 + eventRect.event.getStartTime().get(Calendar.MINUTE);
-                        eventRect.bottom = eventRect.event.getDuration();
-                    } else {
-                        eventRect.top = 0;
-                        eventRect.bottom = mAllDayEventHeight - mGridThickness * 2 - mEventMargin * 2;
-                    }
+        for (int i = 0; i < events.size(); i++) {
+            WeekViewEvent event = events.get(i);
 
-                    mEventRects.add(eventRect);
+            if (event.getId() == id) {
+                if (changedEvents == null) {
+                    changedEvents = new ArrayList<>(events.subList(0, i));
                 }
 
-                j++;
+                cacheEvent(event, removedEvents, mFetchedFirstDay, mFetchedLastDay, calendar);
+            } else if (changedEvents != null) {
+                changedEvents.add(event);
             }
         }
+
+        return changedEvents != null ? changedEvents : events;
     }
 
     /**
-     * Checks if two events overlap.
+     * Get a copy of the events of a period with an event added.
      *
-     * @param event1 The first event.
-     * @param event2 The second event.
-     * @return true if the events overlap.
+     * @param events The events.
+     * @param event  The event to add.
+     * @return The copy.
      */
-    private boolean isEventsCollide(WeekViewEvent event1, WeekViewEvent event2) {
-        long start1 = event1.getStartTime().getTimeInMillis();
-        long end1 = event1.getEndTime().getTimeInMillis();
-        long start2 = event2.getStartTime().getTimeInMillis();
-        long end2 = event2.getEndTime().getTimeInMillis();
+    private List<? extends WeekViewEvent> addEvent(List<? extends WeekViewEvent> events, WeekViewEvent event) {
+        if (events instanceof WeekViewEventStore) {
+            WeekViewEventStore store = (WeekViewEventStore) events;
+            WeekViewEventStore changedStore = new WeekViewEventStore(store.size() + 1);
+
+            for (int i = 0; i < store.size(); i++) {
+                changedStore.add(store, i);
+            }
+
+            changedStore.add(event);
+
+            return changedStore;
+        }
+
+        // Insert the event after the events which are not later, so that the copy stays in order.
+        int position = events.size();
+
+        while (position > 0 && isLater(events.get(position - 1), event)) {
+            position--;
+        }
+
+        List<WeekViewEvent> changedEvents = new ArrayList<>(events.size() + 1);
+        changedEvents.addAll(events);
+        changedEvents.add(position, event);
 
-        return !((start1 >= end2) || (end1 <= start2));
+        return changedEvents;
+    }
+
+    private static boolean isLater(WeekViewEvent event, WeekViewEvent other) {
+        long start = event.getStartTimeInMillis();
+        long otherStart = other.getStartTimeInMillis();
+
+        return start > otherStart || (start == otherStart && event.getEndTimeInMillis() > other.getEndTimeInMillis());
     }
     // endregion
 
     // region Properties
     @Override
-    public void invalidate() {
-        super.invalidate();
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+
+        // Drop the loads in progress, they are requested again on the next draw.
+        if (mLoaderExecutor != null) {
+            mLoaderExecutor.shutdownNow();
+            mLoaderExecutor = null;
+        }
+
+        mMainHandler.removeCallbacksAndMessages(null);
+        mLoadGeneration++;
+        mPendingPeriod = -1;
+        mQueuedPrefetches.clear();
+        mResourceColumns.cancelLoads();
+        clearDayTiles();
+    }
 
-        mAreDimensionsInvalid = true;
+    @Override
+    protected void onConfigurationChanged(Configuration newConfig) {
+        super.onConfigurationChanged(newConfig);
+
+        // The labels may depend on the locale, and the drawables and the rendered days on the
+        // resources.
+        clearLabels();
+        mEventDrawables.clear();
+        mDayTileCache.evictAll();
     }
 
     @Override
     protected void onSizeChanged(int w, int h, int oldw, int oldh) {
         super.onSizeChanged(w, h, oldw, oldh);
 
-        mAreDimensionsInvalid = true;
+        mDirtyFlags |= DIRTY_GEOMETRY;
     }
 
     public EventClickListener getEventClickListener() {
@@ -1256,6 +2826,163 @@ public class WeekView extends View {
 
     public void setMonthChangeListener(MonthLoader.MonthChangeListener monthChangeListener) {
         this.mWeekViewLoader = new MonthLoader(monthChangeListener);
+        notifyDataSetChanged();
+    }
+
+    @Nullable
+    public WeekViewLoader getWeekViewLoader() {
+        return mWeekViewLoader;
+    }
+
+    /**
+     * Set the loader which provides the events of each period.
+     *
+     * @param weekViewLoader The loader.
+     */
+    public void setWeekViewLoader(WeekViewLoader weekViewLoader) {
+        this.mWeekViewLoader = weekViewLoader;
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Set a loader which provides the events of each period asynchronously. This also enables
+     * asynchronous loading, which stays enabled as long as this loader is set, as the week view
+     * has to wait for the returned futures off the UI thread.
+     *
+     * @param asyncWeekViewLoader The asynchronous loader.
+     */
+    public void setAsyncWeekViewLoader(AsyncWeekViewLoader asyncWeekViewLoader) {
+        this.mLoadEventsAsynchronously = true;
+        setWeekViewLoader(new AsyncLoaderAdapter(asyncWeekViewLoader));
+    }
+
+    public boolean isLoadEventsAsynchronously() {
+        return mLoadEventsAsynchronously;
+    }
+
+    /**
+     * Whether the events are loaded and positioned on a background thread. When enabled
+     * {@link WeekViewLoader#onLoad(int)} is called from that thread, while
+     * {@link WeekViewLoader#toWeekViewPeriodIndex(Calendar)} is still only called from the UI
+     * thread. The previously loaded events stay visible until the new ones are available.
+     *
+     * @param loadEventsAsynchronously true to load the events off the UI thread.
+     * @throws IllegalStateException If asynchronous loading is disabled while an
+     *                               {@link AsyncWeekViewLoader} is set.
+     */
+    public void setLoadEventsAsynchronously(boolean loadEventsAsynchronously) {
+        if (!loadEventsAsynchronously && mWeekViewLoader instanceof AsyncLoaderAdapter) {
+            throw new IllegalStateException("An AsyncWeekViewLoader requires asynchronous loading");
+        }
+
+        this.mLoadEventsAsynchronously = loadEventsAsynchronously;
+    }
+
+    public int getPeriodCacheSize() {
+        synchronized (mPeriodCacheLock) {
+            return mPeriodCache.maxSize();
+        }
+    }
+
+    /**
+     * Set the number of loaded periods which are kept in memory, so that navigating back to them
+     * does not call the loader again. The least recently used periods are dropped first. Changing
+     * the size keeps the cached periods but resets the counters of the cache.
+     *
+     * @param periodCacheSize The number of periods, at least 3 as the visible period and both of
+     *                        its neighbours are always loaded. The overview loads more periods
+     *                        when its weeks span several of them, which should fit as well.
+     */
+    public void setPeriodCacheSize(int periodCacheSize) {
+        if (periodCacheSize < 3) {
+            throw new IllegalArgumentException("The period cache must hold at least 3 periods, got " + periodCacheSize);
+        }
+
+        LruCache<Integer, List<? extends WeekViewEvent>> periodCache = new LruCache<>(periodCacheSize);
+
+        synchronized (mPeriodCacheLock) {
+            for (Map.Entry<Integer, List<? extends WeekViewEvent>> entry : mPeriodCache.snapshot().entrySet()) {
+                periodCache.put(entry.getKey(), entry.getValue());
+            }
+
+            mPeriodCache = periodCache;
+        }
+    }
+
+    /**
+     * Get the counters of the cache of loaded periods.
+     *
+     * @return The cache counters.
+     */
+    public CacheStats getPeriodCacheStats() {
+        synchronized (mPeriodCacheLock) {
+            return CacheStats.of(mPeriodCache);
+        }
+    }
+
+    public int getPrefetchHorizon() {
+        return mPrefetchHorizon;
+    }
+
+    /**
+     * Set how many periods beyond the one in which a fling is going to end are loaded ahead of
+     * time. Prefetching only happens when the events are loaded asynchronously.
+     *
+     * @param prefetchHorizon The number of periods, or 0 to only prefetch the periods up to the
+     *                        end of the fling.
+     */
+    public void setPrefetchHorizon(int prefetchHorizon) {
+        this.mPrefetchHorizon = Math.max(prefetchHorizon, 0);
+    }
+
+    public boolean isDayTileCacheEnabled() {
+        return mDayTileCacheEnabled;
+    }
+
+    /**
+     * Whether every day is rendered once into bitmap tiles which are then drawn while scrolling,
+     * instead of drawing the grid lines and the events of the visible days in every frame. The
+     * tiles are rendered again after the events or the zoom changed. This trades memory for
+     * smoother scrolling through days with many events.
+     *
+     * @param dayTileCacheEnabled true to draw the days from bitmap tiles.
+     */
+    public void setDayTileCacheEnabled(boolean dayTileCacheEnabled) {
+        this.mDayTileCacheEnabled = dayTileCacheEnabled;
+
+        if (!dayTileCacheEnabled) {
+            clearDayTiles();
+        }
+
+        invalidate();
+    }
+
+    public int getDayTileCacheSize() {
+        return mDayTileCache.maxSize();
+    }
+
+    /**
+     * Set the memory budget of the rendered day tiles. The least recently drawn tiles are dropped
+     * first. Changing the budget drops all the tiles.
+     *
+     * @param dayTileCacheSize The budget in bytes, by default an eighth of the maximum heap size.
+     */
+    public void setDayTileCacheSize(int dayTileCacheSize) {
+        if (dayTileCacheSize <= 0) {
+            throw new IllegalArgumentException("The day tile cache size must be positive, got " + dayTileCacheSize);
+        }
+
+        clearDayTiles();
+        mDayTileCache = createDayTileCache(dayTileCacheSize);
+    }
+
+    /**
+     * Get the counters of the cache of rendered day tiles. The sizes are in bytes.
+     *
+     * @return The cache counters.
+     */
+    public CacheStats getDayTileCacheStats() {
+        return CacheStats.of(mDayTileCache);
     }
 
     public EventLongPressListener getEventLongPressListener() {
@@ -1278,12 +3005,196 @@ public class WeekView extends View {
         this.mEmptyViewLongPressListener = emptyViewLongPressListener;
     }
 
-    public EmptyViewLongPressListener getEmptyViewLongPressListener() {
-        return mEmptyViewLongPressListener;
+    public EmptyViewLongPressListener getEmptyViewLongPressListener() {
+        return mEmptyViewLongPressListener;
+    }
+
+    public void setScrollListener(ScrollListener scrolledListener) {
+        this.mScrollListener = scrolledListener;
+    }
+
+    public LoadFailureListener getLoadFailureListener() {
+        return mLoadFailureListener;
+    }
+
+    /**
+     * Set the listener which is told when loading events on the loader thread failed. Without a
+     * listener the failure is logged.
+     *
+     * @param loadFailureListener The listener, or null.
+     */
+    public void setLoadFailureListener(LoadFailureListener loadFailureListener) {
+        this.mLoadFailureListener = loadFailureListener;
+    }
+
+    public int getNumberOfVisibleWeeks() {
+        return mNumberOfVisibleWeeks;
+    }
+
+    /**
+     * Show an overview of several weeks instead of the hours of the days. Each day is drawn as a
+     * compact cell with its first events, with the events of the same loader. The first visible
+     * day is kept when switching between the overview and the days.
+     *
+     * @param numberOfVisibleWeeks The number of weeks, or 0 to show the hours of the days.
+     */
+    public void setNumberOfVisibleWeeks(int numberOfVisibleWeeks) {
+        if (numberOfVisibleWeeks < 0) {
+            throw new IllegalArgumentException("The number of visible weeks must not be negative, got " + numberOfVisibleWeeks);
+        }
+
+        if (numberOfVisibleWeeks == mNumberOfVisibleWeeks) {
+            return;
+        }
+
+        mNumberOfVisibleWeeks = numberOfVisibleWeeks;
+        mScroller.forceFinished(true);
+        mCurrentScrollDirection = mCurrentFlingDirection = Direction.NONE;
+
+        // Scroll to the first visible day again once the new dimensions are computed.
+        if (mFirstVisibleDay != null && mScrollToDay == null) {
+            mScrollToDay = (Calendar) mFirstVisibleDay.clone();
+        }
+
+        mCurrentOrigin.y = 0;
+        mDirtyFlags |= DIRTY_GEOMETRY;
+        mDayTileCache.evictAll();
+        invalidate();
+    }
+
+    public List<WeekViewResource> getWeekViewResources() {
+        return mResources;
+    }
+
+    /**
+     * Show one column per resource instead of one column per day, all on the same day. The
+     * columns scroll horizontally, and the events of a resource are only loaded and laid out once
+     * its column comes into view. The number of visible days sets the number of visible columns.
+     * The day of the resources is changed with {@link #goToDate(Calendar)}.
+     *
+     * @param resources The resources, in the order of their columns, or null to show the days
+     *                  again.
+     */
+    public void setWeekViewResources(List<WeekViewResource> resources) {
+        if (mResources == null && resources != null) {
+            // Show the resources on the first visible day.
+            mResourceEpochDay = mFirstVisibleDay != null ? mFirstVisibleEpochDay : toEpochDay(today());
+            mCurrentOrigin.x = 0;
+        } else if (mResources != null && resources == null) {
+            // Show the days from the day of the resources.
+            Calendar day = today();
+            day.add(Calendar.DATE, mResourceEpochDay - toEpochDay(day));
+            mScrollToDay = day;
+            mDirtyFlags |= DIRTY_GEOMETRY;
+        }
+
+        mScroller.forceFinished(true);
+        mCurrentScrollDirection = mCurrentFlingDirection = Direction.NONE;
+        mResources = resources != null ? new ArrayList<>(resources) : null;
+        mResourceLabelWidths = null;
+        clearResourceEvents();
+        invalidate();
+    }
+
+    public WeekViewResourceLoader getResourceLoader() {
+        return mResourceLoader;
+    }
+
+    /**
+     * Set the loader of the events of the resources, which is used in resource mode.
+     *
+     * @param resourceLoader The loader.
+     */
+    public void setResourceLoader(WeekViewResourceLoader resourceLoader) {
+        this.mResourceLoader = resourceLoader;
+        clearResourceEvents();
+        invalidate();
+    }
+
+    /**
+     * Get the resource of the column at a horizontal position, for example to know where an empty
+     * space was clicked in resource mode.
+     *
+     * @param x The x position.
+     * @return The resource, or null if the position is not on a resource column.
+     */
+    @Nullable
+    public WeekViewResource getResourceAt(float x) {
+        if (mResources == null || x < mTimeColumnWidth || mWidthPerDay <= 0) {
+            return null;
+        }
+
+        int column = ResourceColumns.getColumnAt(x - mTimeColumnWidth, mCurrentOrigin.x, mWidthPerDay, mResources.size());
+
+        return column >= 0 ? mResources.get(column) : null;
+    }
+
+    public String getMoreEventsText() {
+        return mMoreEventsText;
+    }
+
+    /**
+     * Set the text of the last line of an overview cell, which tells how many events of the day
+     * do not fit in the cell.
+     *
+     * @param moreEventsText A format string with the number of events as argument, "+%d more" by
+     *                       default.
+     */
+    public void setMoreEventsText(String moreEventsText) {
+        this.mMoreEventsText = moreEventsText;
+        mMoreEventsLabels.clear();
+        invalidate();
+    }
+
+    public int getMinEventTitleHeight() {
+        return mMinEventTitleHeight;
+    }
+
+    /**
+     * Set the height below which events are drawn without their title, so that zoomed out views
+     * skip laying out text which could hardly be read.
+     *
+     * @param minEventTitleHeight The height in pixels, 0 to always draw the titles.
+     */
+    public void setMinEventTitleHeight(int minEventTitleHeight) {
+        this.mMinEventTitleHeight = minEventTitleHeight;
+        mDayTileCache.evictAll();
+        invalidate();
+    }
+
+    public int getMinEventColumnWidth() {
+        return mMinEventColumnWidth;
+    }
+
+    /**
+     * Set the width below which the columns of overlapping events are not drawn. Each group of
+     * overlapping events whose columns would be narrower is drawn as a single block across the day
+     * with the number of events in it. Tapping the block reports its first event.
+     *
+     * @param minEventColumnWidth The width in pixels, 0 to always draw the events side by side.
+     */
+    public void setMinEventColumnWidth(int minEventColumnWidth) {
+        this.mMinEventColumnWidth = minEventColumnWidth;
+        mDayTileCache.evictAll();
+        invalidate();
+    }
+
+    /**
+     * Get the counters of the drawn frames.
+     *
+     * @return The frame counters.
+     */
+    public FrameStats getFrameStats() {
+        return new FrameStats(mFrameCount, mGeometryUpdateCount, mDataUpdateCount);
     }
 
-    public void setScrollListener(ScrollListener scrolledListener) {
-        this.mScrollListener = scrolledListener;
+    /**
+     * Get the counters of the cache of laid out event titles.
+     *
+     * @return The cache counters.
+     */
+    public CacheStats getEventTitleCacheStats() {
+        return CacheStats.of(mEventTitleCache);
     }
 
     /**
@@ -1306,6 +3217,8 @@ public class WeekView extends View {
      */
     public void setDateTimeInterpreter(DateTimeInterpreter dateTimeInterpreter) {
         this.mDateTimeInterpreter = dateTimeInterpreter;
+        clearLabels();
+        invalidate();
     }
     // endregion
 
@@ -1334,14 +3247,13 @@ public class WeekView extends View {
         date.set(Calendar.SECOND, 0);
         date.set(Calendar.MILLISECOND, 0);
 
-        if (mAreDimensionsInvalid) {
+        if ((mDirtyFlags & DIRTY_GEOMETRY) != 0) {
             mScrollToDay = date;
 
             return;
         }
 
-        mRefreshEvents = true;
-
+        // The events of the date are fetched on the next draw, cached periods are reused.
         Calendar today = Calendar.getInstance();
         today.set(Calendar.HOUR_OF_DAY, 0);
         today.set(Calendar.MINUTE, 0);
@@ -1352,7 +3264,24 @@ public class WeekView extends View {
         long dateInMillis = date.getTimeInMillis() + date.getTimeZone().getOffset(date.getTimeInMillis());
         long todayInMillis = today.getTimeInMillis() + today.getTimeZone().getOffset(today.getTimeInMillis());
         long dateDifference = (dateInMillis / day) - (todayInMillis / day);
-        mCurrentOrigin.x = -dateDifference * mWidthPerDay;
+
+        if (mNumberOfVisibleWeeks > 0) {
+            // Show the week of the date at the top of the overview.
+            int todayEpochDay = toEpochDay(today);
+            int firstDayOfWeek = today.getFirstDayOfWeek();
+            mCurrentOrigin.y = mOverviewLayout.getWeekOriginY(OverviewLayout.getWeekStart(todayEpochDay + (int) dateDifference, firstDayOfWeek), OverviewLayout.getWeekStart(todayEpochDay, firstDayOfWeek));
+        } else if (mResources != null) {
+            // The resources are shown on another day, at the same scroll position.
+            int resourceEpochDay = toEpochDay(today) + (int) dateDifference;
+
+            if (resourceEpochDay != mResourceEpochDay) {
+                mResourceEpochDay = resourceEpochDay;
+                clearResourceEvents();
+            }
+        } else {
+            mCurrentOrigin.x = -dateDifference * mWidthPerDay;
+        }
+
         invalidate();
     }
 
@@ -1360,17 +3289,73 @@ public class WeekView extends View {
      * Refreshes the view and loads the events again.
      */
     public void notifyDataSetChanged() {
-        mRefreshEvents = true;
+        mDirtyFlags |= DIRTY_DATA;
         invalidate();
     }
 
+    /**
+     * Load the events of a period again, for example after they changed on a server. The other
+     * loaded periods are kept, and only the days on which the events of the period were or are
+     * drawn are laid out again.
+     *
+     * @param periodIndex The period, as returned by
+     *                    {@link WeekViewLoader#toWeekViewPeriodIndex(Calendar)}.
+     */
+    public void invalidatePeriod(int periodIndex) {
+        invalidatePeriods(periodIndex, periodIndex);
+    }
+
+    /**
+     * Load the events of a range of periods again. The other loaded periods are kept, and only
+     * the days on which the events of the periods were or are drawn are laid out again.
+     *
+     * @param fromPeriodIndex The first period.
+     * @param toPeriodIndex   The last period, inclusive.
+     */
+    public void invalidatePeriods(int fromPeriodIndex, int toPeriodIndex) {
+        reloadPeriods(fromPeriodIndex, toPeriodIndex);
+    }
+
+    /**
+     * Add an event to the loaded events, without loading them again. Only the days of the event
+     * are laid out again. The loader should return the event from now on as well, as it is only
+     * added to the periods which are currently cached. A loaded period which is no longer cached
+     * is loaded again instead.
+     *
+     * @param event The event to add.
+     */
+    public void insertEvent(WeekViewEvent event) {
+        changeEvent(false, 0, event);
+    }
+
+    /**
+     * Replace the loaded events with the id of the given event by the event, without loading them
+     * again. Only the days on which the old and the new event are drawn are laid out again.
+     *
+     * @param event The changed event.
+     */
+    public void updateEvent(WeekViewEvent event) {
+        changeEvent(true, event.getId(), event);
+    }
+
+    /**
+     * Remove the loaded events with the given id, without loading them again. Only the days on
+     * which the events were drawn are laid out again.
+     *
+     * @param id The id of the events to remove.
+     */
+    public void removeEvent(long id) {
+        changeEvent(true, id, null);
+    }
+
     /**
      * Vertically scroll to a specific hour in the week view.
      *
      * @param hour The hour to scroll to in 24-hour format. Supported values are 0-24.
      */
     public void goToHour(double hour) {
-        if (mAreDimensionsInvalid) {
+        // The overview shows no hours, the scroll is applied when they are shown again.
+        if ((mDirtyFlags & DIRTY_GEOMETRY) != 0 || mNumberOfVisibleWeeks > 0) {
             mScrollToHour = hour;
 
             return;
@@ -1410,7 +3395,7 @@ public class WeekView extends View {
 
         // Check after call of mGestureDetector, so mCurrentFlingDirection and mCurrentScrollDirection are set.
         if (event.getAction() == MotionEvent.ACTION_UP && !mIsZooming && mCurrentFlingDirection == Direction.NONE) {
-            if (mCurrentScrollDirection == Direction.RIGHT || mCurrentScrollDirection == Direction.LEFT) {
+            if (mCurrentScrollDirection == Direction.RIGHT || mCurrentScrollDirection == Direction.LEFT || (mNumberOfVisibleWeeks > 0 && mCurrentScrollDirection == Direction.VERTICAL)) {
                 goToNearestOrigin();
             }
 
@@ -1424,6 +3409,12 @@ public class WeekView extends View {
         double leftDays = mCurrentOrigin.x / mWidthPerDay;
         int scrollDuration = 250;
 
+        if (mNumberOfVisibleWeeks > 0) {
+            goToNearestWeek(scrollDuration);
+
+            return;
+        }
+
         if (mCurrentFlingDirection != Direction.NONE) {
             // snap to nearest day
             leftDays = Math.round(leftDays);
@@ -1453,6 +3444,24 @@ public class WeekView extends View {
     }
 
 
+    /**
+     * Snap the overview to the top of the nearest week.
+     *
+     * @param scrollDuration The duration of a scroll by one week.
+     */
+    private void goToNearestWeek(int scrollDuration) {
+        int nearestOrigin = mOverviewLayout.getNearestWeekOffset(mCurrentOrigin.y);
+
+        if (nearestOrigin != 0) {
+            mScroller.forceFinished(true);
+            mScroller.startScroll((int) mCurrentOrigin.x, (int) mCurrentOrigin.y, 0, -nearestOrigin, (int) (Math.abs(nearestOrigin) / mOverviewLayout.getRowHeight() * scrollDuration));
+            ViewCompat.postInvalidateOnAnimation(WeekView.this);
+        }
+
+        // Reset scrolling and fling direction.
+        mCurrentScrollDirection = mCurrentFlingDirection = Direction.NONE;
+    }
+
     @Override
     public void computeScroll() {
         super.computeScroll();
@@ -1539,6 +3548,16 @@ public class WeekView extends View {
          */
         void onFirstVisibleDayChanged(Calendar newFirstVisibleDay, Calendar oldFirstVisibleDay);
     }
+
+    public interface LoadFailureListener {
+        /**
+         * Called on the UI thread when a loader failed on the loader thread. The events which
+         * failed to load are requested again once they are needed for drawing.
+         *
+         * @param exception The exception thrown by the loader.
+         */
+        void onLoadFailed(RuntimeException exception);
+    }
     // endregion
 
     // region Inner classes
@@ -1547,35 +3566,616 @@ public class WeekView extends View {
      * A class to hold reference to the events and their visual representation. An EventRect is
      * actually the rectangle that is drawn on the calendar for a given event. There may be more
      * than one rectangle for a single event (an event that expands more than one day). In that
-     * case two instances of the EventRect will be used for a single event. The given event will be
-     * stored in "originalEvent". But the event that corresponds to rectangle the rectangle
-     * instance will be stored in "event".
+     * case each rectangle holds the times of its own day, while the fields of the event are read
+     * from the event that was passed by the user, stored in "originalEvent". The times are kept in
+     * primitive fields, so that computing the positions never has to touch a calendar.
+     *
+     * An event of a {@link WeekViewEventStore} has no "originalEvent", its fields are read from the
+     * store instead. The times and the position within the day are kept by
+     * {@link EventLayout.Item}.
      */
-    private class EventRect {
-        WeekViewEvent event;
-        WeekViewEvent originalEvent;
+    private class EventRect extends EventLayout.Item {
+        final WeekViewEvent originalEvent;
+        final WeekViewEventStore store;
+        final int index;
+        final int day;
+        private final boolean showLocation;
+        private final boolean showDrawable;
         RectF rectF;
-        float left;
-        float width;
-        float top;
-        float bottom;
+        private RectF drawnRectF;
 
         /**
-         * Create a new instance of event rect. An EventRect is actually the rectangle that is drawn
-         * on the calendar for a given event. There may be more than one rectangle for a single
-         * event (an event that expands more than one day). In that case two instances of the
-         * EventRect will be used for a single event. The given event will be stored in
-         * "originalEvent". But the event that corresponds to rectangle the rectangle instance will
-         * be stored in "event".
+         * Create a new instance of event rect for (a day of) an event.
          *
-         * @param event         Represents the event which this instance of rectangle represents.
-         * @param originalEvent The original event that was passed by the user.
-         * @param rectF         The rectangle.
+         * @param originalEvent    The event that was passed by the user, or null for an event of
+         *                         a store.
+         * @param store            The store of the event, or null.
+         * @param index            The index of the event in the store.
+         * @param startMillis      The start of the rectangle.
+         * @param endMillis        The end of the rectangle.
+         * @param day              The epoch day of the rectangle.
+         * @param startMinuteOfDay The minute of the day at which the rectangle starts.
+         * @param showLocation     Whether the location is shown, which it is not on the days in
+         *                         between the first and the last day of an event.
+         * @param showDrawable     Whether the drawable is shown, which it only is for events of a
+         *                         single day.
          */
-        EventRect(WeekViewEvent event, WeekViewEvent originalEvent, RectF rectF) {
-            this.event = event;
-            this.rectF = rectF;
+        EventRect(WeekViewEvent originalEvent, WeekViewEventStore store, int index, long startMillis, long endMillis, int day, int startMinuteOfDay, boolean showLocation, boolean showDrawable) {
+            super(startMillis, endMillis, startMinuteOfDay, originalEvent != null ? originalEvent.isAllDay() : store.isAllDay(index));
             this.originalEvent = originalEvent;
+            this.store = store;
+            this.index = index;
+            this.day = day;
+            this.showLocation = showLocation;
+            this.showDrawable = showDrawable;
+        }
+
+        /**
+         * Get the event that was passed by the user. For an event of a store, a new event is
+         * created on each call.
+         */
+        WeekViewEvent getOriginalEvent() {
+            return originalEvent != null ? originalEvent : store.get(index);
+        }
+
+        long getId() {
+            return originalEvent != null ? originalEvent.getId() : store.getId(index);
+        }
+
+        String getName() {
+            return originalEvent != null ? originalEvent.getName() : store.getName(index);
+        }
+
+        String getLocation() {
+            if (!showLocation) {
+                return null;
+            }
+
+            return originalEvent != null ? originalEvent.getLocation() : store.getLocation(index);
+        }
+
+        int getColor() {
+            return originalEvent != null ? originalEvent.getColor() : store.getColor(index);
+        }
+
+        int getDrawableId() {
+            return originalEvent != null ? originalEvent.getDrawableId() : store.getDrawableId(index);
+        }
+
+        long getResourceId() {
+            return originalEvent != null ? originalEvent.getResourceId() : store.getResourceId(index);
+        }
+
+        boolean hasDrawable() {
+            if (!showDrawable) {
+                return false;
+            }
+
+            return originalEvent != null ? originalEvent.hasDrawable() : store.hasDrawable(index);
+        }
+
+        /**
+         * Mark the rectangle as drawn at the given position. The same RectF instance is reused for
+         * each frame.
+         */
+        void setDrawnRect(float left, float top, float right, float bottom) {
+            if (drawnRectF == null) {
+                drawnRectF = new RectF();
+            }
+
+            drawnRectF.set(left, top, right, bottom);
+            rectF = drawnRectF;
+        }
+    }
+
+    /**
+     * The labels of a day in the header row, along with the width of the day label followed by a
+     * space, measured with the paints of other days and of today, and the width of the weekday
+     * label.
+     */
+    private static class HeaderLabel {
+        final String dayLabel;
+        final String weekdayLabel;
+        final float dayLabelWidth;
+        final float todayDayLabelWidth;
+        final float weekdayLabelWidth;
+
+        HeaderLabel(String dayLabel, String weekdayLabel, float dayLabelWidth, float todayDayLabelWidth, float weekdayLabelWidth) {
+            this.dayLabel = dayLabel;
+            this.weekdayLabel = weekdayLabel;
+            this.dayLabelWidth = dayLabelWidth;
+            this.todayDayLabelWidth = todayDayLabelWidth;
+            this.weekdayLabelWidth = weekdayLabelWidth;
+        }
+    }
+
+    /**
+     * The events of a day sorted for the overview, along with the list of the day which they were
+     * sorted from.
+     */
+    private class OverviewEvents {
+        final List<EventRect> eventRects;
+        final EventRect[] sortedEventRects;
+
+        OverviewEvents(List<EventRect> eventRects, EventRect[] sortedEventRects) {
+            this.eventRects = eventRects;
+            this.sortedEventRects = sortedEventRects;
+        }
+    }
+
+    /**
+     * The title of an event laid out for a given space, along with its offset from the top of the
+     * event rectangle.
+     */
+    private static class EventTitleLayout {
+        final StaticLayout textLayout;
+        final float top;
+
+        EventTitleLayout(StaticLayout textLayout, float top) {
+            this.textLayout = textLayout;
+            this.top = top;
+        }
+    }
+
+    /**
+     * Identifies a laid out event title: everything that the layout of the title depends on.
+     */
+    private static class EventTitleKey {
+        long id;
+        String name;
+        String location;
+        int availableWidth;
+        int availableHeight;
+        float textSize;
+        boolean hasDrawable;
+        boolean allDay;
+
+        EventTitleKey() {
+        }
+
+        EventTitleKey(EventTitleKey other) {
+            this.id = other.id;
+            this.name = other.name;
+            this.location = other.location;
+            this.availableWidth = other.availableWidth;
+            this.availableHeight = other.availableHeight;
+            this.textSize = other.textSize;
+            this.hasDrawable = other.hasDrawable;
+            this.allDay = other.allDay;
+        }
+
+        void set(EventRect eventRect, int availableWidth, int availableHeight, float textSize) {
+            this.id = eventRect.getId();
+            this.name = eventRect.getName();
+            this.location = eventRect.getLocation();
+            this.availableWidth = availableWidth;
+            this.availableHeight = availableHeight;
+            this.textSize = textSize;
+            this.hasDrawable = eventRect.hasDrawable();
+            this.allDay = eventRect.allDay;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            EventTitleKey that = (EventTitleKey) o;
+
+            return id == that.id
+                    && availableWidth == that.availableWidth
+                    && availableHeight == that.availableHeight
+                    && textSize == that.textSize
+                    && hasDrawable == that.hasDrawable
+                    && allDay == that.allDay
+                    && (name == null ? that.name == null : name.equals(that.name))
+                    && (location == null ? that.location == null : location.equals(that.location));
+        }
+
+        @Override
+        public int hashCode() {
+            int result = (int) (id ^ (id >>> 32));
+            result = 31 * result + (name != null ? name.hashCode() : 0);
+            result = 31 * result + (location != null ? location.hashCode() : 0);
+            result = 31 * result + availableWidth;
+            result = 31 * result + availableHeight;
+            result = 31 * result + Float.floatToIntBits(textSize);
+            result = 31 * result + (hasDrawable ? 1 : 0);
+            result = 31 * result + (allDay ? 1 : 0);
+
+            return result;
+        }
+    }
+
+    /**
+     * The result of loading the events around a period: the rectangles of the events of the
+     * period and its neighbours, of which the positions are already computed, indexed by the epoch
+     * day on which they are drawn.
+     */
+    private class EventsSnapshot {
+        final int generation;
+        final int periodIndex;
+        final int periodRadius;
+        final int firstDay;
+        final int lastDay;
+        final SparseArray<List<EventRect>> eventRectsByDay;
+
+        EventsSnapshot(int generation, int periodIndex, int periodRadius, int firstDay, int lastDay, SparseArray<List<EventRect>> eventRectsByDay) {
+            this.generation = generation;
+            this.periodIndex = periodIndex;
+            this.periodRadius = periodRadius;
+            this.firstDay = firstDay;
+            this.lastDay = lastDay;
+            this.eventRectsByDay = eventRectsByDay;
+        }
+    }
+
+    /**
+     * Loads the events of a period and its neighbours and computes their positions. The task can
+     * either run directly on the UI thread or on the loader thread, in which case the result is
+     * published back on the UI thread.
+     */
+    private class EventLoadTask implements Runnable {
+        private final WeekViewLoader mLoader;
+        private final int mGeneration;
+        private final int mPeriodCacheGeneration;
+        private final int mPeriodToFetch;
+        private final int mPeriodRadius;
+        private final int mFirstDay;
+        private final int mLastDay;
+
+        EventLoadTask(WeekViewLoader loader, int generation, int periodCacheGeneration, int periodToFetch, int periodRadius, int firstDay, int lastDay) {
+            this.mLoader = loader;
+            this.mGeneration = generation;
+            this.mPeriodCacheGeneration = periodCacheGeneration;
+            this.mPeriodToFetch = periodToFetch;
+            this.mPeriodRadius = periodRadius;
+            this.mFirstDay = firstDay;
+            this.mLastDay = lastDay;
+        }
+
+        EventsSnapshot load() {
+            // The period to fetch is loaded first, then its neighbours from the nearest ones on.
+            List<List<? extends WeekViewEvent>> periods = new ArrayList<>(mPeriodRadius * 2 + 1);
+
+            for (int i = 0; i < mPeriodRadius * 2 + 1; i++) {
+                periods.add(null);
+            }
+
+            periods.set(mPeriodRadius, getPeriodEvents(mLoader, mPeriodToFetch, mPeriodCacheGeneration));
+
+            for (int distance = 1; distance <= mPeriodRadius; distance++) {
+                periods.set(mPeriodRadius - distance, getPeriodEvents(mLoader, mPeriodToFetch - distance, mPeriodCacheGeneration));
+                periods.set(mPeriodRadius + distance, getPeriodEvents(mLoader, mPeriodToFetch + distance, mPeriodCacheGeneration));
+            }
+
+            // Long events are only cut into the days of the loaded periods.
+            List<EventRect> tempEvents = new ArrayList<>();
+            cachePeriodEvents(periods, tempEvents, mFirstDay, mLastDay);
+
+            // Group the events by day in a single pass. The events of each day keep their order.
+            SparseArray<List<EventRect>> tempEventsByDay = new SparseArray<>();
+
+            for (int i = 0; i < tempEvents.size(); i++) {
+                EventRect eventRect = tempEvents.get(i);
+                int day = eventRect.day;
+                List<EventRect> dayEventRects = tempEventsByDay.get(day);
+
+                if (dayEventRects == null) {
+                    dayEventRects = new ArrayList<>();
+                    tempEventsByDay.put(day, dayEventRects);
+                }
+
+                dayEventRects.add(eventRect);
+            }
+
+            // Iterate through each day with events to calculate the position of the events.
+            SparseArray<List<EventRect>> eventRectsByDay = new SparseArray<>(tempEventsByDay.size());
+
+            for (int i = 0; i < tempEventsByDay.size(); i++) {
+                List<EventRect> dayEventRects = tempEventsByDay.valueAt(i);
+                List<EventRect> positionedEventRects = new ArrayList<>(dayEventRects.size());
+                computePositionOfEvents(dayEventRects, positionedEventRects);
+                eventRectsByDay.append(tempEventsByDay.keyAt(i), positionedEventRects);
+            }
+
+            return new EventsSnapshot(mGeneration, mPeriodToFetch, mPeriodRadius, mFirstDay, mLastDay, eventRectsByDay);
+        }
+
+        @Override
+        public void run() {
+            try {
+                final EventsSnapshot snapshot = load();
+
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        publishEvents(snapshot);
+                        invalidate();
+                    }
+                });
+            } catch (final RuntimeException e) {
+                // Report the failure on the UI thread, unless the load was cancelled in the
+                // meantime. The period is no longer pending, so it is requested again.
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (mGeneration == mLoadGeneration) {
+                            mPendingPeriod = -1;
+                            reportLoadFailure(e);
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Reloads some of the loaded periods and lays out the days on which their events were or are
+     * drawn. The task can either run directly on the UI thread or on the loader thread, in which
+     * case the result is published back on the UI thread.
+     */
+    private class PeriodReloadTask implements Runnable {
+        private final WeekViewLoader mLoader;
+        private final int mGeneration;
+        private final int mPeriodCacheGeneration;
+        private final int mFetchedPeriod;
+        private final int mFetchedPeriodRadius;
+        private final int mFirstDay;
+        private final int mLastDay;
+        private final SparseArray<List<? extends WeekViewEvent>> mOldPeriods;
+        private final Set<Integer> mUnknownDays;
+
+        PeriodReloadTask(WeekViewLoader loader, int generation, int periodCacheGeneration, int fetchedPeriod, int fetchedPeriodRadius, int firstDay, int lastDay, SparseArray<List<? extends WeekViewEvent>> oldPeriods, Set<Integer> unknownDays) {
+            this.mLoader = loader;
+            this.mGeneration = generation;
+            this.mPeriodCacheGeneration = periodCacheGeneration;
+            this.mFetchedPeriod = fetchedPeriod;
+            this.mFetchedPeriodRadius = fetchedPeriodRadius;
+            this.mFirstDay = firstDay;
+            this.mLastDay = lastDay;
+            this.mOldPeriods = oldPeriods;
+            this.mUnknownDays = unknownDays;
+        }
+
+        SparseArray<List<EventRect>> load() {
+            // The days of the periods of which the old events are unknown.
+            Set<Integer> changedDays = new HashSet<>(mUnknownDays);
+            List<EventRect> tempEvents = new ArrayList<>();
+
+            // The days of the old events of the reloaded periods.
+            for (int i = 0; i < mOldPeriods.size(); i++) {
+                if (mOldPeriods.valueAt(i) != null) {
+                    cacheEvents(mOldPeriods.valueAt(i), tempEvents, mFirstDay, mLastDay);
+                }
+            }
+
+            for (int i = 0; i < tempEvents.size(); i++) {
+                changedDays.add(tempEvents.get(i).day);
+            }
+
+            // All the events of the loaded periods, as the events of other periods may be drawn on
+            // the same days. The reloaded periods are loaded again, the others come from the cache.
+            List<List<? extends WeekViewEvent>> periods = new ArrayList<>(mFetchedPeriodRadius * 2 + 1);
+
+            for (int period = mFetchedPeriod - mFetchedPeriodRadius; period <= mFetchedPeriod + mFetchedPeriodRadius; period++) {
+                List<? extends WeekViewEvent> events = getPeriodEvents(mLoader, period, mPeriodCacheGeneration);
+                periods.add(events);
+
+                // The days of the new events of the reloaded periods.
+                if (mOldPeriods.indexOfKey(period) >= 0) {
+                    tempEvents.clear();
+                    cacheEvents(events, tempEvents, mFirstDay, mLastDay);
+
+                    for (int i = 0; i < tempEvents.size(); i++) {
+                        changedDays.add(tempEvents.get(i).day);
+                    }
+                }
+            }
+
+            List<EventRect> eventRects = new ArrayList<>();
+            cachePeriodEvents(periods, eventRects, mFirstDay, mLastDay);
+
+            // Lay out the changed days only.
+            SparseArray<List<EventRect>> reloadedDays = new SparseArray<>();
+
+            for (int day : changedDays) {
+                reloadedDays.put(day, new ArrayList<EventRect>());
+            }
+
+            for (int i = 0; i < eventRects.size(); i++) {
+                List<EventRect> dayEventRects = reloadedDays.get(eventRects.get(i).day);
+
+                if (dayEventRects != null) {
+                    dayEventRects.add(eventRects.get(i));
+                }
+            }
+
+            for (int i = 0; i < reloadedDays.size(); i++) {
+                List<EventRect> dayEventRects = reloadedDays.valueAt(i);
+                List<EventRect> positionedEventRects = new ArrayList<>(dayEventRects.size());
+                computePositionOfEvents(dayEventRects, positionedEventRects);
+                reloadedDays.setValueAt(i, positionedEventRects);
+            }
+
+            return reloadedDays;
+        }
+
+        @Override
+        public void run() {
+            try {
+                final SparseArray<List<EventRect>> reloadedDays = load();
+
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        publishReloadedDays(PeriodReloadTask.this, reloadedDays);
+                        invalidate();
+                    }
+                });
+            } catch (final RuntimeException e) {
+                // Report the failure on the UI thread, unless other periods were loaded in the
+                // meantime.
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (mGeneration == mLoadGeneration) {
+                            reportLoadFailure(e);
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Loads a single period into the period cache on the loader thread, ahead of the time it
+     * becomes visible.
+     */
+    private class PrefetchTask implements Runnable {
+        private final WeekViewLoader mLoader;
+        private final int mPeriodCacheGeneration;
+        private final int mPeriodIndex;
+
+        PrefetchTask(WeekViewLoader loader, int periodCacheGeneration, int periodIndex) {
+            this.mLoader = loader;
+            this.mPeriodCacheGeneration = periodCacheGeneration;
+            this.mPeriodIndex = periodIndex;
+        }
+
+        @Override
+        public void run() {
+            try {
+                // Cached the same way as a load does, sorted if the loader's list is not in order.
+                getPeriodEvents(mLoader, mPeriodIndex, mPeriodCacheGeneration);
+            } catch (RuntimeException e) {
+                // Ignore the failure, the period is loaded again once it is visible, and that load
+                // reports the failure.
+            } finally {
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        mQueuedPrefetches.remove(mPeriodIndex);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Loads the events of some resources on a day and computes their positions per resource. The
+     * task can either run directly on the UI thread or on the loader thread, in which case the
+     * result is published back on the UI thread.
+     */
+    private class ResourceLoadTask implements Runnable {
+        private final WeekViewResourceLoader mLoader;
+        private final int mGeneration;
+        private final Calendar mDay;
+        private final int mEpochDay;
+        private final int[] mColumns;
+        private final long[] mResourceIds;
+
+        ResourceLoadTask(WeekViewResourceLoader loader, int generation, Calendar day, int epochDay, int[] columns, long[] resourceIds) {
+            this.mLoader = loader;
+            this.mGeneration = generation;
+            this.mDay = day;
+            this.mEpochDay = epochDay;
+            this.mColumns = columns;
+            this.mResourceIds = resourceIds;
+        }
+
+        SparseArray<List<EventRect>> load() {
+            List<? extends WeekViewEvent> events = mLoader.onLoad(mDay, mResourceIds);
+            List<EventRect> tempEvents = new ArrayList<>();
+
+            if (events != null) {
+                cacheEvents(events, tempEvents, mEpochDay, mEpochDay);
+            }
+
+            // Group the events by resource in a single pass. The events of each resource keep
+            // their order, and a loaded resource without events gets an empty column.
+            Map<Long, List<EventRect>> tempEventsByResource = new HashMap<>();
+
+            for (long resourceId : mResourceIds) {
+                tempEventsByResource.put(resourceId, new ArrayList<EventRect>());
+            }
+
+            for (int i = 0; i < tempEvents.size(); i++) {
+                EventRect eventRect = tempEvents.get(i);
+                List<EventRect> resourceEventRects = tempEventsByResource.get(eventRect.getResourceId());
+
+                if (resourceEventRects != null) {
+                    resourceEventRects.add(eventRect);
+                }
+            }
+
+            // Calculate the position of the events of each resource.
+            SparseArray<List<EventRect>> eventRectsByColumn = new SparseArray<>(mColumns.length);
+
+            for (int i = 0; i < mColumns.length; i++) {
+                List<EventRect> resourceEventRects = tempEventsByResource.get(mResourceIds[i]);
+                List<EventRect> positionedEventRects = new ArrayList<>(resourceEventRects.size());
+                computePositionOfEvents(resourceEventRects, positionedEventRects);
+                eventRectsByColumn.put(mColumns[i], positionedEventRects);
+            }
+
+            return eventRectsByColumn;
+        }
+
+        @Override
+        public void run() {
+            try {
+                final SparseArray<List<EventRect>> eventRectsByColumn = load();
+
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        publishResourceEvents(ResourceLoadTask.this, eventRectsByColumn);
+                        invalidate();
+                    }
+                });
+            } catch (final RuntimeException e) {
+                // Report the failure on the UI thread, unless the load was cancelled in the
+                // meantime. The columns are no longer pending, so they are requested again.
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (mResourceColumns.finishLoad(mGeneration, mColumns)) {
+                            reportLoadFailure(e);
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Makes an {@link AsyncWeekViewLoader} usable as a {@link WeekViewLoader}. The events are
+     * awaited on the loader thread of the week view, never on the UI thread.
+     */
+    private static class AsyncLoaderAdapter implements WeekViewLoader {
+        private final AsyncWeekViewLoader mAsyncLoader;
+
+        AsyncLoaderAdapter(AsyncWeekViewLoader asyncLoader) {
+            this.mAsyncLoader = asyncLoader;
+        }
+
+        @Override
+        public double toWeekViewPeriodIndex(Calendar instance) {
+            return mAsyncLoader.toWeekViewPeriodIndex(instance);
+        }
+
+        @Override
+        public List<? extends WeekViewEvent> onLoad(int periodIndex) {
+            try {
+                return mAsyncLoader.onLoadAsync(periodIndex).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                throw new IllegalStateException("Interrupted while loading period " + periodIndex, e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Failed to load period " + periodIndex, e.getCause());
+            }
         }
     }
     // endregion
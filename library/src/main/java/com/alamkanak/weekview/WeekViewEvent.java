@@ -3,24 +3,38 @@ package com.alamkanak.weekview;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
+import java.util.TimeZone;
 import java.util.concurrent.TimeUnit;
 
 import static com.alamkanak.weekview.WeekViewUtil.isSameDay;
+import static com.alamkanak.weekview.WeekViewUtil.toEpochDay;
+import static com.alamkanak.weekview.WeekViewUtil.toMinuteOfDay;
 
 /**
  * Created by Raquib-ul-Alam Kanak on 7/21/2014.
  * Website: http://april-shower.com
+ * <p>
+ * The calendars of the start and the end time are kept as they are, not copied. The week view
+ * reads the times from them whenever it loads the event, so a calendar which is modified after
+ * the event has been loaded takes effect on the next load, for example after
+ * {@link WeekView#notifyDataSetChanged()}.
  */
 public class WeekViewEvent {
     private long mId;
     private Calendar mStartTime;
     private Calendar mEndTime;
+    private long mStartMillis;
+    private long mEndMillis;
+    private int mStartEpochDay;
+    private int mStartMinuteOfDay;
     private String mName;
     private String mLocation;
     private int mColor;
     private boolean mAllDay;
     private int mDrawableId;
     private int mType;
+    private long mResourceId;
+    private DaySpan mDaySpan;
 
     public WeekViewEvent() {
 
@@ -59,6 +73,9 @@ public class WeekViewEvent {
         this.mEndTime.set(Calendar.HOUR_OF_DAY, endHour);
         this.mEndTime.set(Calendar.MINUTE, endMinute);
 
+        updateStartTime();
+        updateEndTime();
+
         this.mName = name;
 
         this.mDrawableId = -1;
@@ -82,6 +99,9 @@ public class WeekViewEvent {
         this.mEndTime = endTime;
         this.mAllDay = allDay;
         this.mDrawableId = -1;
+
+        updateStartTime();
+        updateEndTime();
     }
 
     /**
@@ -114,16 +134,79 @@ public class WeekViewEvent {
         return mStartTime;
     }
 
+    /**
+     * Set the time when the event starts.
+     *
+     * @param startTime The time when the event starts.
+     */
     public void setStartTime(Calendar startTime) {
         this.mStartTime = startTime;
+        updateStartTime();
     }
 
     public Calendar getEndTime() {
         return mEndTime;
     }
 
+    /**
+     * Set the time when the event ends.
+     *
+     * @param endTime The time when the event ends.
+     */
     public void setEndTime(Calendar endTime) {
         this.mEndTime = endTime;
+        updateEndTime();
+    }
+
+    /**
+     * @return The time when the event starts, in milliseconds since the epoch.
+     */
+    public long getStartTimeInMillis() {
+        return mStartMillis;
+    }
+
+    /**
+     * @return The time when the event ends, in milliseconds since the epoch.
+     */
+    public long getEndTimeInMillis() {
+        return mEndMillis;
+    }
+
+    /**
+     * @return The number of days since the epoch of the day on which the event starts.
+     */
+    public int getStartEpochDay() {
+        return mStartEpochDay;
+    }
+
+    /**
+     * @return The number of minutes since the start of the day when the event starts.
+     */
+    public int getStartMinuteOfDay() {
+        return mStartMinuteOfDay;
+    }
+
+    /**
+     * Read the times again from the calendars, which may have been modified since they were set.
+     * The week view does so whenever it loads the event.
+     */
+    void updateTimes() {
+        updateStartTime();
+        updateEndTime();
+    }
+
+    private void updateStartTime() {
+        if (mStartTime != null) {
+            mStartMillis = mStartTime.getTimeInMillis();
+            mStartEpochDay = toEpochDay(mStartTime);
+            mStartMinuteOfDay = toMinuteOfDay(mStartTime);
+        }
+    }
+
+    private void updateEndTime() {
+        if (mEndTime != null) {
+            mEndMillis = mEndTime.getTimeInMillis();
+        }
     }
 
     public String getName() {
@@ -166,6 +249,19 @@ public class WeekViewEvent {
         this.mId = id;
     }
 
+    public long getResourceId() {
+        return mResourceId;
+    }
+
+    /**
+     * Set the resource of the event, in whose column the event is shown in resource mode.
+     *
+     * @param resourceId The id of the resource.
+     */
+    public void setResourceId(long resourceId) {
+        this.mResourceId = resourceId;
+    }
+
     public int getDrawableId() {
         return mDrawableId;
     }
@@ -185,11 +281,12 @@ public class WeekViewEvent {
             Calendar newEndTime = (Calendar) mStartTime.clone();
             newEndTime.add(Calendar.MINUTE, 30);
             mEndTime = newEndTime;
+            updateEndTime();
         }
     }
 
     public int getDuration() {
-        long duration = mEndTime.getTime().getTime() - mStartTime.getTime().getTime();
+        long duration = mEndMillis - mStartMillis;
 
         return (int) TimeUnit.MILLISECONDS.toMinutes(duration);
     }
@@ -222,6 +319,7 @@ public class WeekViewEvent {
             endTime.set(Calendar.MINUTE, 59);
             WeekViewEvent event1 = new WeekViewEvent(this.getId(), this.getName(), this.getLocation(), this.getStartTime(), endTime, this.isAllDay());
             event1.setColor(this.getColor());
+            event1.setResourceId(this.getResourceId());
             events.add(event1);
 
             // Add other days.
@@ -236,6 +334,7 @@ public class WeekViewEvent {
                 endOfOverDay.set(Calendar.MINUTE, 59);
                 WeekViewEvent eventMore = new WeekViewEvent(this.getId(), this.getName(), null, overDay, endOfOverDay, this.isAllDay());
                 eventMore.setColor(this.getColor());
+                eventMore.setResourceId(this.getResourceId());
                 events.add(eventMore);
 
                 // Add next day.
@@ -248,6 +347,7 @@ public class WeekViewEvent {
             startTime.set(Calendar.MINUTE, 0);
             WeekViewEvent event2 = new WeekViewEvent(this.getId(), this.getName(), this.getLocation(), startTime, this.getEndTime(), this.isAllDay());
             event2.setColor(this.getColor());
+            event2.setResourceId(this.getResourceId());
             events.add(event2);
         } else {
             events.add(this);
@@ -259,4 +359,29 @@ public class WeekViewEvent {
     public boolean hasDrawable() {
         return mDrawableId != -1;
     }
+
+    /**
+     * Get the days on which the event is drawn. They are computed once and kept until the times of
+     * the event change.
+     *
+     * @param calendar A calendar to compute the days with. It is left in the time zone of the
+     *                 event.
+     * @return The days of the event.
+     */
+    DaySpan getDaySpan(Calendar calendar) {
+        TimeZone timeZone = mStartTime.getTimeZone();
+
+        if (calendar.getTimeZone() != timeZone) {
+            calendar.setTimeZone(timeZone);
+        }
+
+        DaySpan daySpan = mDaySpan;
+
+        if (daySpan == null || !daySpan.matches(mStartMillis, mEndMillis, timeZone)) {
+            daySpan = DaySpan.of(mStartMillis, mEndMillis, calendar);
+            mDaySpan = daySpan;
+        }
+
+        return daySpan;
+    }
 }
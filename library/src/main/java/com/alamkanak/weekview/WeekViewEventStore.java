@@ -0,0 +1,349 @@
+package com.alamkanak.weekview;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact list of events for calendars with many events. Instead of one {@link WeekViewEvent}
+ * with two calendars per event, the store keeps the fields of all events in parallel primitive
+ * arrays and keeps every distinct name and location only once. A loader can return a store
+ * instead of a list of events, the week view then lays out and draws the events straight from the
+ * arrays.
+ *
+ * Calling {@link #get(int)} creates a new {@link WeekViewEvent} for the event, the week view only
+ * does so for an event which is clicked. The store must not be modified after it has been
+ * returned by the loader.
+ */
+public class WeekViewEventStore extends AbstractList<WeekViewEvent> {
+    private static final int NO_STRING = -1;
+    private static final int FLAG_ALL_DAY = 1;
+
+    private int mSize;
+    private long[] mIds;
+    private long[] mStartTimes;
+    private long[] mEndTimes;
+    private int[] mColors;
+    private int[] mTypes;
+    private int[] mDrawableIds;
+    private int[] mFlags;
+    private int[] mNames;
+    private int[] mLocations;
+    private long[] mResourceIds;
+
+    private final List<String> mStrings = new ArrayList<>();
+    private final Map<String, Integer> mStringIndexes = new HashMap<>();
+
+    // Computed when the events are laid out, which may happen on the loader thread and on the UI
+    // thread. Only complete arrays are published, so either thread sees a whole one or none.
+    private volatile int[] mSortedOrder;
+    private volatile DaySpan[] mDaySpans;
+
+    public WeekViewEventStore() {
+        this(16);
+    }
+
+    /**
+     * Initializes the store.
+     *
+     * @param initialCapacity The number of events the store can hold before growing.
+     */
+    public WeekViewEventStore(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        mIds = new long[capacity];
+        mStartTimes = new long[capacity];
+        mEndTimes = new long[capacity];
+        mColors = new int[capacity];
+        mTypes = new int[capacity];
+        mDrawableIds = new int[capacity];
+        mFlags = new int[capacity];
+        mNames = new int[capacity];
+        mLocations = new int[capacity];
+        mResourceIds = new long[capacity];
+    }
+
+    /**
+     * Add an event to the store.
+     *
+     * @param id          The id of the event.
+     * @param name        Name of the event.
+     * @param location    The location of the event.
+     * @param startMillis The time when the event starts, in milliseconds since the epoch.
+     * @param endMillis   The time when the event ends, in milliseconds since the epoch.
+     * @param color       The color of the event.
+     * @param allDay      Is the event an all day event.
+     * @return The index of the event in the store.
+     */
+    public int add(long id, String name, String location, long startMillis, long endMillis, int color, boolean allDay) {
+        ensureCapacity(mSize + 1);
+
+        int index = mSize++;
+        mIds[index] = id;
+        mStartTimes[index] = startMillis;
+        mEndTimes[index] = endMillis;
+        mColors[index] = color;
+        mTypes[index] = 0;
+        mDrawableIds[index] = -1;
+        mFlags[index] = allDay ? FLAG_ALL_DAY : 0;
+        mNames[index] = intern(name);
+        mLocations[index] = intern(location);
+        mResourceIds[index] = 0;
+        mSortedOrder = null;
+        mDaySpans = null;
+        modCount++;
+
+        return index;
+    }
+
+    /**
+     * Add a copy of an event to the store.
+     *
+     * @param event The event.
+     * @return true
+     */
+    @Override
+    public boolean add(WeekViewEvent event) {
+        int index = add(event.getId(), event.getName(), event.getLocation(), event.getStartTimeInMillis(), event.getEndTimeInMillis(), event.getColor(), event.isAllDay());
+        mTypes[index] = event.getType();
+        mDrawableIds[index] = event.getDrawableId();
+        mResourceIds[index] = event.getResourceId();
+
+        return true;
+    }
+
+    /**
+     * Add a copy of an event of another store.
+     *
+     * @param other The other store.
+     * @param index The index of the event in the other store.
+     * @return The index of the event in this store.
+     */
+    int add(WeekViewEventStore other, int index) {
+        int newIndex = add(other.getId(index), other.getName(index), other.getLocation(index), other.getStartTimeInMillis(index), other.getEndTimeInMillis(index), other.getColor(index), other.isAllDay(index));
+        mTypes[newIndex] = other.getType(index);
+        mDrawableIds[newIndex] = other.getDrawableId(index);
+        mResourceIds[newIndex] = other.getResourceId(index);
+
+        return newIndex;
+    }
+
+    /**
+     * Create a new event from the fields of an event in the store.
+     *
+     * @param index The index of the event in the store.
+     * @return The event.
+     */
+    @Override
+    public WeekViewEvent get(int index) {
+        checkIndex(index);
+
+        Calendar startTime = Calendar.getInstance();
+        startTime.setTimeInMillis(mStartTimes[index]);
+        Calendar endTime = Calendar.getInstance();
+        endTime.setTimeInMillis(mEndTimes[index]);
+
+        WeekViewEvent event = new WeekViewEvent(mIds[index], getName(index), getLocation(index), startTime, endTime, isAllDay(index));
+        event.setColor(mColors[index]);
+        event.setDrawableId(mDrawableIds[index]);
+        event.setResourceId(mResourceIds[index]);
+
+        // Set the end time again, as setType may have derived it from the start time.
+        event.setType(mTypes[index]);
+        event.setEndTime(endTime);
+
+        return event;
+    }
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+
+    public long getId(int index) {
+        checkIndex(index);
+
+        return mIds[index];
+    }
+
+    public String getName(int index) {
+        checkIndex(index);
+
+        return mNames[index] == NO_STRING ? null : mStrings.get(mNames[index]);
+    }
+
+    public String getLocation(int index) {
+        checkIndex(index);
+
+        return mLocations[index] == NO_STRING ? null : mStrings.get(mLocations[index]);
+    }
+
+    public long getStartTimeInMillis(int index) {
+        checkIndex(index);
+
+        return mStartTimes[index];
+    }
+
+    public long getEndTimeInMillis(int index) {
+        checkIndex(index);
+
+        return mEndTimes[index];
+    }
+
+    public int getColor(int index) {
+        checkIndex(index);
+
+        return mColors[index];
+    }
+
+    public boolean isAllDay(int index) {
+        checkIndex(index);
+
+        return (mFlags[index] & FLAG_ALL_DAY) != 0;
+    }
+
+    public int getType(int index) {
+        checkIndex(index);
+
+        return mTypes[index];
+    }
+
+    /**
+     * Set the type of an event. Just like {@link WeekViewEvent#setType(int)}, type 2 makes the
+     * event end 30 minutes after its start.
+     *
+     * @param index The index of the event in the store.
+     * @param type  The type.
+     */
+    public void setType(int index, int type) {
+        checkIndex(index);
+
+        mTypes[index] = type;
+
+        if (type == 2) {
+            mEndTimes[index] = mStartTimes[index] + 30 * WeekViewUtil.MINUTE_IN_MILLIS;
+            mSortedOrder = null;
+            mDaySpans = null;
+        }
+    }
+
+    public int getDrawableId(int index) {
+        checkIndex(index);
+
+        return mDrawableIds[index];
+    }
+
+    public void setDrawableId(int index, int drawableId) {
+        checkIndex(index);
+
+        mDrawableIds[index] = drawableId;
+    }
+
+    public long getResourceId(int index) {
+        checkIndex(index);
+
+        return mResourceIds[index];
+    }
+
+    public void setResourceId(int index, long resourceId) {
+        checkIndex(index);
+
+        mResourceIds[index] = resourceId;
+    }
+
+    public boolean hasDrawable(int index) {
+        return getDrawableId(index) != -1;
+    }
+
+    /**
+     * Get the indexes of the events in ascending order of their start, and of their end for events
+     * which start at the same time. The order is computed once and kept until the store changes.
+     *
+     * @return The indexes of the events in sorted order. Must not be modified.
+     */
+    int[] getSortedOrder() {
+        int[] order = mSortedOrder;
+
+        if (order == null) {
+            order = new int[mSize];
+
+            for (int i = 0; i < mSize; i++) {
+                order[i] = i;
+            }
+
+            WeekViewUtil.sortIndexes(order, mStartTimes, mEndTimes);
+            mSortedOrder = order;
+        }
+
+        return order;
+    }
+
+    /**
+     * Get the days on which an event is drawn. The days of all the events are computed at once and
+     * kept until the store or the time zone changes.
+     *
+     * @param index    The index of the event in the store.
+     * @param calendar A calendar in the time zone to compute the days in.
+     * @return The days of the event.
+     */
+    DaySpan getDaySpan(int index, Calendar calendar) {
+        checkIndex(index);
+
+        DaySpan[] daySpans = mDaySpans;
+
+        if (daySpans == null || daySpans.length != mSize || !daySpans[index].matches(mStartTimes[index], mEndTimes[index], calendar.getTimeZone())) {
+            daySpans = new DaySpan[mSize];
+
+            for (int i = 0; i < mSize; i++) {
+                daySpans[i] = DaySpan.of(mStartTimes[i], mEndTimes[i], calendar);
+            }
+
+            mDaySpans = daySpans;
+        }
+
+        return daySpans[index];
+    }
+
+    private int intern(String string) {
+        if (string == null) {
+            return NO_STRING;
+        }
+
+        Integer index = mStringIndexes.get(string);
+
+        if (index == null) {
+            index = mStrings.size();
+            mStrings.add(string);
+            mStringIndexes.put(string, index);
+        }
+
+        return index;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= mIds.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(capacity, mIds.length * 2);
+        mIds = Arrays.copyOf(mIds, newCapacity);
+        mStartTimes = Arrays.copyOf(mStartTimes, newCapacity);
+        mEndTimes = Arrays.copyOf(mEndTimes, newCapacity);
+        mColors = Arrays.copyOf(mColors, newCapacity);
+        mTypes = Arrays.copyOf(mTypes, newCapacity);
+        mDrawableIds = Arrays.copyOf(mDrawableIds, newCapacity);
+        mFlags = Arrays.copyOf(mFlags, newCapacity);
+        mNames = Arrays.copyOf(mNames, newCapacity);
+        mLocations = Arrays.copyOf(mLocations, newCapacity);
+        mResourceIds = Arrays.copyOf(mResourceIds, newCapacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= mSize) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+        }
+    }
+}
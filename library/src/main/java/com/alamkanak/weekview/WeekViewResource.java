@@ -0,0 +1,29 @@
+package com.alamkanak.weekview;
+
+/**
+ * A resource which is shown as a column of the week view in resource mode, such as a room or a
+ * person. The events of a resource are the events with its id as resource id.
+ */
+public class WeekViewResource {
+    private final long mId;
+    private final String mName;
+
+    /**
+     * Initializes the resource.
+     *
+     * @param id   The id of the resource.
+     * @param name The name of the resource, shown in the header row.
+     */
+    public WeekViewResource(long id, String name) {
+        this.mId = id;
+        this.mName = name;
+    }
+
+    public long getId() {
+        return mId;
+    }
+
+    public String getName() {
+        return mName;
+    }
+}
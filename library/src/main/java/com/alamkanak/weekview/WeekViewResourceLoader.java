@@ -0,0 +1,21 @@
+package com.alamkanak.weekview;
+
+import java.util.Calendar;
+import java.util.List;
+
+public interface WeekViewResourceLoader {
+    /**
+     * Load the events of some resources on a day. The week view only asks for the resources of
+     * which the columns come into view, and asks for each resource only once per day. When the
+     * events are loaded asynchronously, this method is called from the background thread of the
+     * week view.
+     *
+     * Each event is shown in the column of its resource id, the events of other resources are
+     * left out.
+     *
+     * @param day         The day, at midnight.
+     * @param resourceIds The ids of the resources to load.
+     * @return A list with the events of the resources on the day
+     */
+    List<? extends WeekViewEvent> onLoad(Calendar day, long[] resourceIds);
+}
@@ -7,6 +7,9 @@ import java.util.Calendar;
  */
 public class WeekViewUtil {
 
+    static final long MINUTE_IN_MILLIS = 1000L * 60L;
+    static final long DAY_IN_MILLIS = MINUTE_IN_MILLIS * 60L * 24L;
+    static final int MAX_PERIOD_SEARCH_DAYS = 1 << 16;
 
     /////////////////////////////////////////////////////////////////
     //
@@ -24,6 +27,171 @@ public class WeekViewUtil {
         return dayOne.get(Calendar.YEAR) == dayTwo.get(Calendar.YEAR) && dayOne.get(Calendar.DAY_OF_YEAR) == dayTwo.get(Calendar.DAY_OF_YEAR);
     }
 
+    /**
+     * Get the number of days since the epoch (1970-01-01) of a time, in the time zone of its
+     * calendar. Two times are on the same day exactly when their epoch days are equal.
+     * @param time The time.
+     * @return The epoch day of the time.
+     */
+    public static int toEpochDay(Calendar time) {
+        long millis = time.getTimeInMillis();
+
+        return toEpochDay(millis + time.getTimeZone().getOffset(millis));
+    }
+
+    /**
+     * Get the number of minutes since the start of the day of a time, in the time zone of its
+     * calendar.
+     * @param time The time.
+     * @return The minute of the day, between 0 and 1439.
+     */
+    public static int toMinuteOfDay(Calendar time) {
+        long millis = time.getTimeInMillis();
+        long localMillis = millis + time.getTimeZone().getOffset(millis);
+
+        return (int) ((localMillis - toEpochDay(localMillis) * DAY_IN_MILLIS) / MINUTE_IN_MILLIS);
+    }
+
+    /**
+     * Get the number of days since the epoch of a local time.
+     * @param localMillis The milliseconds since the epoch, shifted by the time zone offset.
+     * @return The epoch day.
+     */
+    static int toEpochDay(long localMillis) {
+        if (localMillis < 0) {
+            // Round towards negative infinity for times before the epoch.
+            return (int) ((localMillis - DAY_IN_MILLIS + 1) / DAY_IN_MILLIS);
+        }
+
+        return (int) (localMillis / DAY_IN_MILLIS);
+    }
+
+    /**
+     * Set a calendar to the start of a day.
+     * @param calendar The calendar, in the time zone of the day.
+     * @param day The epoch day.
+     */
+    static void setEpochDay(Calendar calendar, int day) {
+        calendar.clear();
+        calendar.set(1970, Calendar.JANUARY, 1);
+        calendar.add(Calendar.DATE, day);
+    }
+
+    /**
+     * Sort indexes into two arrays of keys, by the primary key and then by the secondary key. The
+     * sort is stable, so indexes with equal keys keep their order.
+     * @param indexes The indexes to sort.
+     * @param primaryKeys The primary key of every index.
+     * @param secondaryKeys The secondary key of every index.
+     */
+    static void sortIndexes(int[] indexes, long[] primaryKeys, long[] secondaryKeys) {
+        int length = indexes.length;
+        int[] source = indexes;
+        int[] target = new int[length];
+
+        // Bottom up merge sort, alternating between the two arrays.
+        for (int width = 1; width < length; width *= 2) {
+            for (int low = 0; low < length; low += width * 2) {
+                int middle = Math.min(low + width, length);
+                int high = Math.min(low + width * 2, length);
+                int left = low;
+                int right = middle;
+
+                for (int i = low; i < high; i++) {
+                    if (left < middle && (right >= high || compareIndexes(source[left], source[right], primaryKeys, secondaryKeys) <= 0)) {
+                        target[i] = source[left++];
+                    } else {
+                        target[i] = source[right++];
+                    }
+                }
+            }
+
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+
+        if (source != indexes) {
+            System.arraycopy(source, 0, indexes, 0, length);
+        }
+    }
+
+    private static int compareIndexes(int a, int b, long[] primaryKeys, long[] secondaryKeys) {
+        if (primaryKeys[a] != primaryKeys[b]) {
+            return primaryKeys[a] < primaryKeys[b] ? -1 : 1;
+        }
+
+        if (secondaryKeys[a] != secondaryKeys[b]) {
+            return secondaryKeys[a] < secondaryKeys[b] ? -1 : 1;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Find the first day of a period, starting from a day near it. The period index grows with the
+     * day, so the search doubles its steps away from the given day until it passes the start of the
+     * period, and then narrows down on it.
+     * @param loader The loader which tells the period of a day.
+     * @param period The period.
+     * @param nearDay The epoch day to start from.
+     * @param calendar A calendar to compute the days with.
+     * @return The first epoch day of the period or of a later one, or Integer.MIN_VALUE or
+     * Integer.MAX_VALUE if it is too far away from the given day.
+     */
+    static int findFirstDayOfPeriod(WeekViewLoader loader, int period, int nearDay, Calendar calendar) {
+        // The period of "low" is lower than the period, the period of "high" is at least the period.
+        int low;
+        int high;
+        int step = 1;
+
+        if (getPeriodOfDay(loader, nearDay, calendar) >= period) {
+            high = nearDay;
+            low = high - step;
+
+            while (getPeriodOfDay(loader, low, calendar) >= period) {
+                if (step >= MAX_PERIOD_SEARCH_DAYS) {
+                    return Integer.MIN_VALUE;
+                }
+
+                high = low;
+                step *= 2;
+                low = high - step;
+            }
+        } else {
+            low = nearDay;
+            high = low + step;
+
+            while (getPeriodOfDay(loader, high, calendar) < period) {
+                if (step >= MAX_PERIOD_SEARCH_DAYS) {
+                    return Integer.MAX_VALUE;
+                }
+
+                low = high;
+                step *= 2;
+                high = low + step;
+            }
+        }
+
+        while (high - low > 1) {
+            int middle = low + (high - low) / 2;
+
+            if (getPeriodOfDay(loader, middle, calendar) >= period) {
+                high = middle;
+            } else {
+                low = middle;
+            }
+        }
+
+        return high;
+    }
+
+    private static int getPeriodOfDay(WeekViewLoader loader, int day, Calendar calendar) {
+        setEpochDay(calendar, day);
+
+        return (int) loader.toWeekViewPeriodIndex(calendar);
+    }
+
     /**
      * Returns a calendar instance at the start of this day
      * @return the calendar instance
@@ -0,0 +1,125 @@
+package com.alamkanak.weekview;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import static com.alamkanak.weekview.WeekViewEventTest.time;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DaySpanTest {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+    // Summer time starts on 2017-03-26 at 2:00 and ends on 2017-10-29 at 3:00.
+    private static final TimeZone BERLIN = TimeZone.getTimeZone("Europe/Berlin");
+
+    @Test
+    public void keepsAnEventOfOneDayInOnePiece() {
+        Calendar start = time(UTC, 2017, Calendar.MARCH, 6, 9, 30);
+        Calendar end = time(UTC, 2017, Calendar.MARCH, 6, 11, 0);
+
+        DaySpan daySpan = DaySpan.of(start.getTimeInMillis(), end.getTimeInMillis(), Calendar.getInstance(UTC));
+
+        assertTrue(daySpan.isSingleDay());
+        assertEquals(WeekViewUtil.toEpochDay(start), daySpan.startDay);
+        assertEquals(9 * 60 + 30, daySpan.startMinuteOfDay);
+        assertEquals(start.getTimeInMillis(), daySpan.getDayStartMillis(daySpan.startDay, Calendar.getInstance(UTC)));
+        assertEquals(end.getTimeInMillis(), daySpan.getDayEndMillis(daySpan.startDay, Calendar.getInstance(UTC)));
+    }
+
+    @Test
+    public void keepsAnEventEndingAtMidnightOnItsDay() {
+        Calendar start = time(UTC, 2017, Calendar.MARCH, 6, 22, 0);
+        Calendar end = time(UTC, 2017, Calendar.MARCH, 7, 0, 0);
+
+        DaySpan daySpan = DaySpan.of(start.getTimeInMillis(), end.getTimeInMillis(), Calendar.getInstance(UTC));
+
+        assertTrue(daySpan.isSingleDay());
+        assertEquals(end.getTimeInMillis(), daySpan.getDayEndMillis(daySpan.startDay, Calendar.getInstance(UTC)));
+    }
+
+    @Test
+    public void cutsALongEventAtBothEndsOfItsDays() {
+        Calendar start = time(UTC, 2017, Calendar.MARCH, 6, 20, 0);
+        Calendar end = time(UTC, 2017, Calendar.MARCH, 9, 7, 15);
+        Calendar calendar = Calendar.getInstance(UTC);
+
+        DaySpan daySpan = DaySpan.of(start.getTimeInMillis(), end.getTimeInMillis(), calendar);
+        int firstDay = daySpan.startDay;
+
+        assertFalse(daySpan.isSingleDay());
+        assertEquals(firstDay + 3, daySpan.endDay);
+
+        // The first day is cut at 23:59, the last one starts at midnight, the days in between
+        // take the whole day. The days can be asked for in any order.
+        assertEquals(time(UTC, 2017, Calendar.MARCH, 9, 0, 0).getTimeInMillis(), daySpan.getDayStartMillis(firstDay + 3, calendar));
+        assertEquals(end.getTimeInMillis(), daySpan.getDayEndMillis(firstDay + 3, calendar));
+        assertEquals(start.getTimeInMillis(), daySpan.getDayStartMillis(firstDay, calendar));
+        assertEquals(time(UTC, 2017, Calendar.MARCH, 6, 23, 59).getTimeInMillis(), daySpan.getDayEndMillis(firstDay, calendar));
+        assertEquals(time(UTC, 2017, Calendar.MARCH, 7, 0, 0).getTimeInMillis(), daySpan.getDayStartMillis(firstDay + 1, calendar));
+        assertEquals(time(UTC, 2017, Calendar.MARCH, 7, 23, 59).getTimeInMillis(), daySpan.getDayEndMillis(firstDay + 1, calendar));
+    }
+
+    @Test
+    public void cutsTheDaysInLocalTimeAcrossTheStartOfSummerTime() {
+        Calendar start = time(BERLIN, 2017, Calendar.MARCH, 25, 20, 0);
+        Calendar end = time(BERLIN, 2017, Calendar.MARCH, 27, 10, 0);
+        Calendar calendar = Calendar.getInstance(BERLIN);
+
+        DaySpan daySpan = DaySpan.of(start.getTimeInMillis(), end.getTimeInMillis(), calendar);
+        int dstDay = daySpan.startDay + 1;
+        long dstDayStart = daySpan.getDayStartMillis(dstDay, calendar);
+        long dstDayEnd = daySpan.getDayEndMillis(dstDay, calendar);
+
+        assertEquals(daySpan.startDay + 2, daySpan.endDay);
+        assertEquals(time(BERLIN, 2017, Calendar.MARCH, 26, 0, 0).getTimeInMillis(), dstDayStart);
+        assertEquals(time(BERLIN, 2017, Calendar.MARCH, 26, 23, 59).getTimeInMillis(), dstDayEnd);
+
+        // The day is an hour shorter.
+        assertEquals(23 * 60 - 1, (dstDayEnd - dstDayStart) / WeekViewUtil.MINUTE_IN_MILLIS);
+        assertEquals(time(BERLIN, 2017, Calendar.MARCH, 27, 0, 0).getTimeInMillis(), daySpan.getDayStartMillis(daySpan.endDay, calendar));
+    }
+
+    @Test
+    public void cutsTheDaysInLocalTimeAcrossTheEndOfSummerTime() {
+        Calendar start = time(BERLIN, 2017, Calendar.OCTOBER, 28, 22, 0);
+        Calendar end = time(BERLIN, 2017, Calendar.OCTOBER, 29, 23, 30);
+        Calendar calendar = Calendar.getInstance(BERLIN);
+
+        DaySpan daySpan = DaySpan.of(start.getTimeInMillis(), end.getTimeInMillis(), calendar);
+
+        assertEquals(daySpan.startDay + 1, daySpan.endDay);
+        assertEquals(time(BERLIN, 2017, Calendar.OCTOBER, 28, 23, 59).getTimeInMillis(), daySpan.getDayEndMillis(daySpan.startDay, calendar));
+        assertEquals(time(BERLIN, 2017, Calendar.OCTOBER, 29, 0, 0).getTimeInMillis(), daySpan.getDayStartMillis(daySpan.endDay, calendar));
+
+        // The last day is an hour longer, so the event takes 24 and a half hours of it.
+        assertEquals(24 * 60 + 30, (end.getTimeInMillis() - daySpan.getDayStartMillis(daySpan.endDay, calendar)) / WeekViewUtil.MINUTE_IN_MILLIS);
+    }
+
+    @Test
+    public void keepsTheDaysOfAnEventUntilItsTimesChange() {
+        Calendar start = time(BERLIN, 2017, Calendar.MARCH, 6, 22, 0);
+        WeekViewEvent event = new WeekViewEvent(1, "Night", start, time(BERLIN, 2017, Calendar.MARCH, 7, 2, 0));
+        Calendar calendar = Calendar.getInstance(UTC);
+
+        DaySpan daySpan = event.getDaySpan(calendar);
+
+        // The days are computed in the time zone of the event.
+        assertEquals(BERLIN.getID(), calendar.getTimeZone().getID());
+        assertEquals(WeekViewUtil.toEpochDay(start), daySpan.startDay);
+        assertEquals(daySpan.startDay + 1, daySpan.endDay);
+        assertSame(daySpan, event.getDaySpan(calendar));
+
+        event.setEndTime(time(BERLIN, 2017, Calendar.MARCH, 6, 23, 0));
+        DaySpan changedDaySpan = event.getDaySpan(calendar);
+
+        assertNotSame(daySpan, changedDaySpan);
+        assertTrue(changedDaySpan.isSingleDay());
+        assertSame(changedDaySpan, event.getDaySpan(calendar));
+    }
+}
@@ -0,0 +1,213 @@
+package com.alamkanak.weekview;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class EventLayoutTest {
+
+    private static final float ALL_DAY_HEIGHT = 20;
+
+    @Test
+    public void matchesPreviousLayout() {
+        Random random = new Random(42);
+
+        for (int round = 0; round < 2000; round++) {
+            List<EventLayout.Item> items = createItems(random, 1 + random.nextInt(30));
+            List<EventLayout.Item> expected = copy(items);
+            List<EventLayout.Item> actual = copy(items);
+            List<EventLayout.Item> expectedResult = new ArrayList<>();
+            List<EventLayout.Item> actualResult = new ArrayList<>();
+
+            computePreviousPositions(expected, expectedResult);
+            EventLayout.computePositions(actual, ALL_DAY_HEIGHT, actualResult);
+
+            assertEquals(expectedResult.size(), actualResult.size());
+
+            for (int i = 0; i < expectedResult.size(); i++) {
+                EventLayout.Item expectedItem = expectedResult.get(i);
+                EventLayout.Item actualItem = actualResult.get(i);
+                String message = "round " + round + ", event " + i;
+
+                assertSame(message, actual.get(expected.indexOf(expectedItem)), actualItem);
+                assertEquals(message, expectedItem.left, actualItem.left, 0);
+                assertEquals(message, expectedItem.width, actualItem.width, 0);
+                assertEquals(message, expectedItem.top, actualItem.top, 0);
+                assertEquals(message, expectedItem.bottom, actualItem.bottom, 0);
+            }
+        }
+    }
+
+    @Test
+    public void placesTouchingEventsInOneColumn() {
+        List<EventLayout.Item> items = new ArrayList<>();
+        items.add(createItem(60, 120, false));
+        items.add(createItem(120, 180, false));
+        items.add(createItem(180, 240, false));
+        List<EventLayout.Item> result = new ArrayList<>();
+
+        EventLayout.computePositions(items, ALL_DAY_HEIGHT, result);
+
+        assertEquals(3, result.size());
+
+        for (EventLayout.Item item : result) {
+            assertEquals(0, item.left, 0);
+            assertEquals(1, item.width, 0);
+            assertEquals(null, item.cluster);
+        }
+    }
+
+    @Test
+    public void keepsAllDayEventsApartFromTimedEvents() {
+        List<EventLayout.Item> items = new ArrayList<>();
+        items.add(createItem(0, 24 * 60, true));
+        items.add(createItem(0, 24 * 60, true));
+        items.add(createItem(60, 120, false));
+        List<EventLayout.Item> result = new ArrayList<>();
+
+        EventLayout.computePositions(items, ALL_DAY_HEIGHT, result);
+
+        assertEquals(0.5f, items.get(0).width, 0);
+        assertEquals(0.5f, items.get(1).left, 0);
+        assertEquals(ALL_DAY_HEIGHT, items.get(1).bottom, 0);
+        assertEquals(null, items.get(0).cluster);
+        assertEquals(1, items.get(2).width, 0);
+        assertEquals(60, items.get(2).top, 0);
+        assertEquals(60, items.get(2).bottom, 0);
+    }
+
+    /**
+     * Creates events on a half hour grid, so that many of them touch at their ends, sorted by
+     * start like the events of a day.
+     */
+    private static List<EventLayout.Item> createItems(Random random, int count) {
+        List<EventLayout.Item> items = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            int start = random.nextInt(48) * 30;
+            int duration = random.nextInt(4) == 0 ? 1 + random.nextInt(90) : (1 + random.nextInt(6)) * 30;
+            items.add(createItem(start, Math.min(start + duration, 24 * 60), random.nextInt(5) == 0));
+        }
+
+        Collections.sort(items, new Comparator<EventLayout.Item>() {
+            @Override
+            public int compare(EventLayout.Item item1, EventLayout.Item item2) {
+                return item1.startMinuteOfDay - item2.startMinuteOfDay;
+            }
+        });
+
+        return items;
+    }
+
+    private static EventLayout.Item createItem(int startMinute, int endMinute, boolean allDay) {
+        return new EventLayout.Item(startMinute * WeekViewUtil.MINUTE_IN_MILLIS, endMinute * WeekViewUtil.MINUTE_IN_MILLIS, startMinute, allDay);
+    }
+
+    private static List<EventLayout.Item> copy(List<EventLayout.Item> items) {
+        List<EventLayout.Item> copies = new ArrayList<>();
+
+        for (EventLayout.Item item : items) {
+            copies.add(new EventLayout.Item(item.startMillis, item.endMillis, item.startMinuteOfDay, item.allDay));
+        }
+
+        return copies;
+    }
+
+    /**
+     * The layout as it was computed before the sweep, which compares every event with all the
+     * events placed before it.
+     */
+    private static void computePreviousPositions(List<EventLayout.Item> items, List<EventLayout.Item> result) {
+        List<List<EventLayout.Item>> collisionGroups = new ArrayList<>();
+
+        for (EventLayout.Item item : items) {
+            boolean isPlaced = false;
+
+            outerLoop:
+            for (List<EventLayout.Item> collisionGroup : collisionGroups) {
+                for (EventLayout.Item groupItem : collisionGroup) {
+                    if (isCollide(groupItem, item) && groupItem.allDay == item.allDay) {
+                        collisionGroup.add(item);
+                        isPlaced = true;
+
+                        break outerLoop;
+                    }
+                }
+            }
+
+            if (!isPlaced) {
+                List<EventLayout.Item> newGroup = new ArrayList<>();
+                newGroup.add(item);
+                collisionGroups.add(newGroup);
+            }
+        }
+
+        for (List<EventLayout.Item> collisionGroup : collisionGroups) {
+            List<List<EventLayout.Item>> columns = new ArrayList<>();
+            columns.add(new ArrayList<EventLayout.Item>());
+
+            for (EventLayout.Item item : collisionGroup) {
+                boolean isPlaced = false;
+
+                for (List<EventLayout.Item> column : columns) {
+                    if (column.size() == 0) {
+                        column.add(item);
+                        isPlaced = true;
+                    } else if (!isCollide(item, column.get(column.size() - 1))) {
+                        column.add(item);
+                        isPlaced = true;
+
+                        break;
+                    }
+                }
+
+                if (!isPlaced) {
+                    List<EventLayout.Item> newColumn = new ArrayList<>();
+                    newColumn.add(item);
+                    columns.add(newColumn);
+                }
+            }
+
+            int maxRowCount = 0;
+
+            for (List<EventLayout.Item> column : columns) {
+                maxRowCount = Math.max(maxRowCount, column.size());
+            }
+
+            for (int i = 0; i < maxRowCount; i++) {
+                float j = 0;
+
+                for (List<EventLayout.Item> column : columns) {
+                    if (column.size() >= i + 1) {
+                        EventLayout.Item item = column.get(i);
+                        item.width = 1f / columns.size();
+                        item.left = j / columns.size();
+
+                        if (!item.allDay) {
+                            item.top = item.startMinuteOfDay;
+                            item.bottom = (int) ((item.endMillis - item.startMillis) / WeekViewUtil.MINUTE_IN_MILLIS);
+                        } else {
+                            item.top = 0;
+                            item.bottom = ALL_DAY_HEIGHT;
+                        }
+
+                        result.add(item);
+                    }
+
+                    j++;
+                }
+            }
+        }
+    }
+
+    private static boolean isCollide(EventLayout.Item item1, EventLayout.Item item2) {
+        return !((item1.startMillis >= item2.endMillis) || (item1.endMillis <= item2.startMillis));
+    }
+}
@@ -0,0 +1,175 @@
+package com.alamkanak.weekview;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class EventOrderTest {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+    private static final long HOUR_IN_MILLIS = 60 * WeekViewUtil.MINUTE_IN_MILLIS;
+
+    @Test
+    public void leavesEventsInOrderAsTheyAre() {
+        List<WeekViewEvent> events = Arrays.asList(event(1, 1, 2), event(2, 1, 3), event(3, 2, 3));
+
+        assertNull(EventOrder.getSortedOrder(events));
+        assertSame(events, EventOrder.toSortedEvents(events));
+    }
+
+    @Test
+    public void sortsACopyOfEventsOutOfOrder() {
+        List<WeekViewEvent> events = Arrays.asList(event(1, 3, 4), event(2, 1, 3), event(3, 1, 2), event(4, 1, 3));
+
+        List<? extends WeekViewEvent> sortedEvents = EventOrder.toSortedEvents(events);
+
+        // Events with the same times keep their order, and the loaded list is left as it is.
+        assertEquals("[3, 2, 4, 1]", ids(sortedEvents));
+        assertEquals("[1, 2, 3, 4]", ids(events));
+    }
+
+    @Test
+    public void mergesThePeriodsInOrder() {
+        WeekViewEventStore store = new WeekViewEventStore();
+        store.add(10, "a", null, 5 * HOUR_IN_MILLIS, 6 * HOUR_IN_MILLIS, 0, false);
+        store.add(11, "b", null, 0, HOUR_IN_MILLIS, 0, false);
+        store.add(12, "c", null, 2 * HOUR_IN_MILLIS, 4 * HOUR_IN_MILLIS, 0, false);
+        List<List<? extends WeekViewEvent>> periods = new ArrayList<>();
+        periods.add(Arrays.asList(event(1, 2, 3), event(2, 0, 1)));
+        periods.add(store);
+        periods.add(Arrays.asList(event(3, 2, 4), event(4, 2, 3), event(5, 7, 8)));
+        periods.add(new ArrayList<WeekViewEvent>());
+
+        // Events with the same times are taken from the earlier period first.
+        assertEquals("[0:1, 1:1, 0:0, 2:1, 1:2, 2:0, 1:0, 2:2]", merge(periods));
+    }
+
+    @Test
+    public void mergesLikeASortOfAllTheEvents() {
+        Random random = new Random(42);
+
+        for (int round = 0; round < 500; round++) {
+            List<List<? extends WeekViewEvent>> periods = new ArrayList<>();
+            final List<long[]> expected = new ArrayList<>();
+            int periodCount = 1 + random.nextInt(5);
+
+            for (int period = 0; period < periodCount; period++) {
+                int size = random.nextInt(12);
+                List<? extends WeekViewEvent> events;
+
+                if (random.nextBoolean()) {
+                    WeekViewEventStore store = new WeekViewEventStore();
+
+                    for (int i = 0; i < size; i++) {
+                        int start = random.nextInt(8);
+                        store.add(i, null, null, start * HOUR_IN_MILLIS, (start + 1 + random.nextInt(3)) * HOUR_IN_MILLIS, 0, false);
+                    }
+
+                    events = store;
+                } else {
+                    List<WeekViewEvent> list = new ArrayList<>();
+
+                    for (int i = 0; i < size; i++) {
+                        int start = random.nextInt(8);
+                        list.add(event(i, start, start + 1 + random.nextInt(3)));
+                    }
+
+                    events = list;
+                }
+
+                periods.add(events);
+
+                for (int i = 0; i < events.size(); i++) {
+                    expected.add(new long[]{EventOrder.getStartTimeInMillis(events, i), EventOrder.getEndTimeInMillis(events, i), period, i});
+                }
+            }
+
+            // A stable sort of all the events, which are listed by period.
+            Collections.sort(expected, new Comparator<long[]>() {
+                @Override
+                public int compare(long[] event1, long[] event2) {
+                    for (int i = 0; i < 2; i++) {
+                        if (event1[i] != event2[i]) {
+                            return event1[i] < event2[i] ? -1 : 1;
+                        }
+                    }
+
+                    return 0;
+                }
+            });
+
+            StringBuilder expectedOrder = new StringBuilder("[");
+
+            for (int i = 0; i < expected.size(); i++) {
+                expectedOrder.append(i == 0 ? "" : ", ").append(expected.get(i)[2]).append(':').append(expected.get(i)[3]);
+            }
+
+            assertEquals("round " + round, expectedOrder.append(']').toString(), merge(periods));
+        }
+    }
+
+    @Test
+    public void readsTheTimesAgainWhenPuttingEventsInOrder() {
+        WeekViewEvent event = event(1, 1, 2);
+        List<WeekViewEvent> events = Arrays.asList(event, event(2, 3, 4));
+
+        event.getStartTime().add(Calendar.HOUR_OF_DAY, 4);
+        event.getEndTime().add(Calendar.HOUR_OF_DAY, 4);
+
+        assertArrayEquals(new int[]{1, 0}, EventOrder.getSortedOrder(events));
+        assertEquals(5 * HOUR_IN_MILLIS, event.getStartTimeInMillis());
+    }
+
+    @Test
+    public void takesNothingFromNoPeriods() {
+        EventOrder.Merge merge = new EventOrder.Merge(new ArrayList<List<? extends WeekViewEvent>>());
+
+        assertFalse(merge.next());
+        assertEquals(-1, merge.getPeriod());
+    }
+
+    private static String merge(List<List<? extends WeekViewEvent>> periods) {
+        EventOrder.Merge merge = new EventOrder.Merge(periods);
+        StringBuilder order = new StringBuilder("[");
+
+        while (merge.next()) {
+            order.append(order.length() > 1 ? ", " : "").append(merge.getPeriod()).append(':').append(merge.getIndex());
+        }
+
+        return order.append(']').toString();
+    }
+
+    private static String ids(List<? extends WeekViewEvent> events) {
+        List<Long> ids = new ArrayList<>();
+
+        for (WeekViewEvent event : events) {
+            ids.add(event.getId());
+        }
+
+        return ids.toString();
+    }
+
+    private static WeekViewEvent event(long id, int startHour, int endHour) {
+        Calendar startTime = Calendar.getInstance(UTC);
+        startTime.clear();
+        startTime.setTimeInMillis(startHour * HOUR_IN_MILLIS);
+        Calendar endTime = Calendar.getInstance(UTC);
+        endTime.clear();
+        endTime.setTimeInMillis(endHour * HOUR_IN_MILLIS);
+
+        return new WeekViewEvent(id, "Event " + id, startTime, endTime);
+    }
+}
@@ -0,0 +1,177 @@
+package com.alamkanak.weekview;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EventTitleFitterTest {
+
+    private static final int LINE_HEIGHT = 10;
+
+    @Test
+    public void keepsATitleWhichFits() {
+        MonospaceFitter fitter = new MonospaceFitter();
+
+        MonospaceLayout layout = fitter.fit("Meeting in room 4", 2 * LINE_HEIGHT, 10, LINE_HEIGHT);
+
+        assertEquals("Meeting in room 4", layout.text);
+        assertEquals(1, fitter.layoutCount);
+    }
+
+    @Test
+    public void ellipsizesToTheLinesWhichFit() {
+        MonospaceFitter fitter = new MonospaceFitter();
+
+        // Ellipsized to 2 lines, "Weekly planning mee\u2026" wraps into 3 lines.
+        MonospaceLayout layout = fitter.fit("Weekly planning meeting with the whole team", 2 * LINE_HEIGHT, 10, LINE_HEIGHT);
+
+        assertEquals("Weekly pl\u2026", layout.text);
+        assertEquals(2, fitter.layoutCount);
+    }
+
+    @Test
+    public void fitsLikeShorteningTheTitleOneLineAtATime() {
+        Random random = new Random(42);
+        String[] words = {"a", "an", "the", "room", "meeting", "Wednesday", "conference", "interdisciplinary", " ", "\n"};
+        int passes = 0;
+
+        for (int round = 0; round < 20000; round++) {
+            StringBuilder title = new StringBuilder();
+            int wordCount = random.nextInt(30);
+
+            for (int i = 0; i < wordCount; i++) {
+                // Line breaks are rare in titles.
+                String word = words[random.nextInt(random.nextInt(20) == 0 ? words.length : words.length - 1)];
+                title.append(i > 0 ? " " : "").append(word);
+            }
+
+            int availableWidth = 1 + random.nextInt(25);
+            int availableHeight = LINE_HEIGHT * (1 + random.nextInt(8)) + random.nextInt(LINE_HEIGHT);
+            MonospaceFitter fitter = new MonospaceFitter();
+
+            MonospaceLayout layout = fitter.fit(title, availableHeight, availableWidth, LINE_HEIGHT);
+            int layoutCount = fitter.layoutCount;
+            String message = "\"" + title + "\" in " + availableWidth + "x" + availableHeight;
+
+            assertEquals(message, fitter.oldFit(title, availableHeight, availableWidth, LINE_HEIGHT).text, layout.text);
+
+            if (title.indexOf("\n") < 0) {
+                assertTrue(message + " took " + layoutCount + " layouts", layoutCount <= 2);
+                passes++;
+            }
+        }
+
+        assertTrue(passes > 10000);
+    }
+
+    /**
+     * A text engine in which every character is a unit wide. A line is broken after the last
+     * space which lets its words fit, trailing spaces take no room, and a word longer than a
+     * line is broken where the line is full.
+     */
+    private static class MonospaceFitter extends EventTitleFitter<MonospaceLayout> {
+        int layoutCount;
+
+        @Override
+        MonospaceLayout layout(CharSequence text, int width) {
+            layoutCount++;
+
+            return new MonospaceLayout(text.toString(), width);
+        }
+
+        @Override
+        int getHeight(MonospaceLayout layout) {
+            return layout.lineStarts.size() * LINE_HEIGHT;
+        }
+
+        @Override
+        int getLineStart(MonospaceLayout layout, int line) {
+            return layout.lineStarts.get(line);
+        }
+
+        @Override
+        CharSequence ellipsize(CharSequence text, float width) {
+            if (text.length() <= width) {
+                return text;
+            }
+
+            int end = (int) Math.floor(width - getEllipsisWidth());
+
+            return end > 0 ? text.subSequence(0, end) + "\u2026" : "";
+        }
+
+        @Override
+        float measure(CharSequence text, int start, int end) {
+            return end - start;
+        }
+
+        @Override
+        float getEllipsisWidth() {
+            return 1;
+        }
+
+        /**
+         * Fit a title as the week view did before, shortening it by a line until it fits.
+         */
+        MonospaceLayout oldFit(CharSequence text, int availableHeight, int availableWidth, int lineHeight) {
+            int availableLineCount = availableHeight / lineHeight;
+            MonospaceLayout layout;
+
+            do {
+                layout = layout(ellipsize(text, availableLineCount * availableWidth), availableWidth);
+                availableLineCount--;
+            } while (getHeight(layout) > availableHeight);
+
+            return layout;
+        }
+    }
+
+    private static class MonospaceLayout {
+        final String text;
+        final List<Integer> lineStarts = new ArrayList<>();
+
+        MonospaceLayout(String text, int width) {
+            this.text = text;
+            int start = 0;
+            lineStarts.add(0);
+
+            while (true) {
+                int end = getLineEnd(start, width);
+
+                if (end >= text.length()) {
+                    break;
+                }
+
+                lineStarts.add(end);
+                start = end;
+            }
+        }
+
+        private int getLineEnd(int start, int width) {
+            int newline = text.indexOf('\n', start);
+            int end = newline >= 0 ? newline : text.length();
+
+            if (end - start <= width) {
+                return newline >= 0 ? newline + 1 : end;
+            }
+
+            // Break after the last space which lets the words before it fit.
+            for (int i = start + width; i > start; i--) {
+                if (text.charAt(i) == ' ' && text.charAt(i - 1) != ' ') {
+                    while (i < end && text.charAt(i) == ' ') {
+                        i++;
+                    }
+
+                    return i;
+                }
+            }
+
+            return start + width;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.alamkanak.weekview;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the layout work which the week view does on every frame allocates nothing once the
+ * buffers have grown, by counting the bytes the thread allocates. The drawing itself needs a
+ * canvas, so only the parts of a frame which are kept apart from the view are driven here.
+ */
+public class FrameAllocationTest {
+
+    private static final int WARM_UP_FRAMES = 20000;
+    private static final int FRAMES = 1000;
+
+    private final GridLines mGridLines = new GridLines();
+    private final OverviewLayout mOverviewLayout = new OverviewLayout();
+    private final ResourceColumns<String> mResourceColumns = new ResourceColumns<>();
+    private final LongLruCache<String> mDayTileCache = new LongLruCache<>(16);
+    private float mSum;
+
+    @Test
+    public void drawsTheDaysWithoutAllocating() {
+        for (int day = 0; day < 8; day++) {
+            mDayTileCache.put(17231 + day, "tile " + day);
+        }
+
+        assertEquals(0, countAllocatedBytes(new Runnable() {
+            @Override
+            public void run() {
+                for (int frame = 0; frame < FRAMES; frame++) {
+                    drawDays(frame);
+                }
+            }
+        }));
+    }
+
+    @Test
+    public void drawsTheOverviewWithoutAllocating() {
+        assertEquals(0, countAllocatedBytes(new Runnable() {
+            @Override
+            public void run() {
+                for (int frame = 0; frame < FRAMES; frame++) {
+                    drawOverview(frame);
+                }
+            }
+        }));
+    }
+
+    @Test
+    public void drawsTheResourcesWithoutAllocating() {
+        for (int column = 0; column < 30; column++) {
+            mResourceColumns.put(column, "resource " + column);
+        }
+
+        assertEquals(0, countAllocatedBytes(new Runnable() {
+            @Override
+            public void run() {
+                for (int frame = 0; frame < FRAMES; frame++) {
+                    drawResources(frame);
+                }
+            }
+        }));
+    }
+
+    private void drawDays(int frame) {
+        float originY = -(frame % 500);
+        int lineCount = mGridLines.computeDayLines(60 - frame % 100, 8, 100, 60, 0.5f, 1200, 50 + originY, 60, 50);
+        mSum += mGridLines.getLines()[4 * (lineCount - 1)];
+
+        for (int day = 0; day < 8; day++) {
+            mSum += mDayTileCache.get(17231 + day).length();
+        }
+    }
+
+    private void drawOverview(int frame) {
+        mOverviewLayout.update(700, 1050, 50, 5, frame % 900 - 450, 17231);
+        int lineCount = mOverviewLayout.getLineCount(40, 2, 30);
+
+        for (int cell = 0; cell < mOverviewLayout.getCellCount(); cell++) {
+            if (mOverviewLayout.isCellVisible(cell)) {
+                mSum += mOverviewLayout.getCellLeft(cell) + mOverviewLayout.getCellTop(cell);
+                mSum += OverviewLayout.getShownEventCount(cell % 9, lineCount);
+            }
+        }
+
+        mSum += mOverviewLayout.computeGridLines(mGridLines, 0.5f);
+        mSum += mOverviewLayout.getFirstDay() + mOverviewLayout.getCellAtPoint(frame % 700, 300);
+    }
+
+    private void drawResources(int frame) {
+        float originX = -(frame % 2000);
+        mSum += mResourceColumns.findColumnsToLoad(originX, 100, 7, 30);
+        mSum += ResourceColumns.getMinOriginX(30, 7, 100) + ResourceColumns.getColumnAt(250, originX, 100, 30);
+        int lastColumn = ResourceColumns.getLastVisibleColumn(originX, 100, 7, 30);
+
+        for (int column = ResourceColumns.getFirstVisibleColumn(originX, 100); column <= lastColumn; column++) {
+            mSum += mResourceColumns.get(column).length();
+        }
+    }
+
+    /**
+     * Count the bytes which the current thread allocates while running a task, after running it
+     * often enough for the buffers to grow and the code to be compiled.
+     */
+    private long countAllocatedBytes(Runnable task) {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARM_UP_FRAMES / FRAMES; i++) {
+            task.run();
+        }
+
+        // Asking for the allocated bytes may allocate by itself.
+        long start = threadBean.getThreadAllocatedBytes(threadId);
+        long overhead = threadBean.getThreadAllocatedBytes(threadId) - start;
+        start = threadBean.getThreadAllocatedBytes(threadId);
+        task.run();
+
+        return threadBean.getThreadAllocatedBytes(threadId) - start - overhead;
+    }
+}
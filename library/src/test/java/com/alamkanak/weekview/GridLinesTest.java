@@ -0,0 +1,116 @@
+package com.alamkanak.weekview;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class GridLinesTest {
+
+    private static final float WIDTH_PER_DAY = 100;
+    private static final float TIME_COLUMN_WIDTH = 60;
+    private static final float GRID_RADIO = 1;
+    private static final float HEIGHT = 1000;
+    private static final float HEADER_HEIGHT = 100;
+    private static final float MIN_HOUR_TOP = HEADER_HEIGHT + 10;
+
+    @Test
+    public void sizesTheBufferForAllTheHoursOfTheColumns() {
+        GridLines gridLines = new GridLines();
+
+        gridLines.computeDayLines(TIME_COLUMN_WIDTH, 3, WIDTH_PER_DAY, TIME_COLUMN_WIDTH, GRID_RADIO, HEIGHT, HEADER_HEIGHT, 50, MIN_HOUR_TOP);
+
+        assertEquals(3 * (WeekView.HOURS + 2), GridLines.getMaxDayLineCount(3));
+        assertEquals(GridLines.getMaxDayLineCount(3) * 4, gridLines.getLines().length);
+    }
+
+    @Test
+    public void keepsTheBufferWhenItIsLargeEnough() {
+        GridLines gridLines = new GridLines();
+        gridLines.computeDayLines(TIME_COLUMN_WIDTH, 8, WIDTH_PER_DAY, TIME_COLUMN_WIDTH, GRID_RADIO, HEIGHT, HEADER_HEIGHT, 50, MIN_HOUR_TOP);
+        float[] lines = gridLines.getLines();
+
+        gridLines.computeDayLines(TIME_COLUMN_WIDTH, 4, WIDTH_PER_DAY, TIME_COLUMN_WIDTH, GRID_RADIO, HEIGHT, HEADER_HEIGHT, 50, MIN_HOUR_TOP);
+
+        assertSame(lines, gridLines.getLines());
+    }
+
+    @Test
+    public void countsTheVisibleHourLinesAtTheTop() {
+        GridLines gridLines = new GridLines();
+
+        // Midnight is at the header row and left out, 1 to 17 o'clock are above the bottom.
+        int lineCount = gridLines.computeDayLines(TIME_COLUMN_WIDTH, 3, WIDTH_PER_DAY, TIME_COLUMN_WIDTH, GRID_RADIO, HEIGHT, HEADER_HEIGHT, 50, MIN_HOUR_TOP);
+
+        assertEquals(3 * (1 + 17), lineCount);
+    }
+
+    @Test
+    public void countsTheVisibleHourLinesWhenScrolledDown() {
+        GridLines gridLines = new GridLines();
+
+        // Midnight is 300 pixels above the header row, so 7 to 23 o'clock are visible.
+        int lineCount = gridLines.computeDayLines(TIME_COLUMN_WIDTH, 3, WIDTH_PER_DAY, TIME_COLUMN_WIDTH, GRID_RADIO, HEIGHT, HEADER_HEIGHT - 300, 50, MIN_HOUR_TOP);
+
+        assertEquals(3 * (1 + 17), lineCount);
+    }
+
+    @Test
+    public void countsAllTheHourLinesWhenZoomedOut() {
+        GridLines gridLines = new GridLines();
+
+        int lineCount = gridLines.computeDayLines(TIME_COLUMN_WIDTH, 3, WIDTH_PER_DAY, TIME_COLUMN_WIDTH, GRID_RADIO, HEIGHT, HEADER_HEIGHT, 20, MIN_HOUR_TOP);
+
+        assertEquals(3 * (1 + WeekView.HOURS), lineCount);
+    }
+
+    @Test
+    public void leavesOutTheColumnsBehindTheTimeColumn() {
+        GridLines gridLines = new GridLines();
+
+        // The first column ends at the right edge of the time column.
+        int lineCount = gridLines.computeDayLines(TIME_COLUMN_WIDTH - WIDTH_PER_DAY, 4, WIDTH_PER_DAY, TIME_COLUMN_WIDTH, GRID_RADIO, HEIGHT, HEADER_HEIGHT, 50, MIN_HOUR_TOP);
+        float[] lines = gridLines.getLines();
+
+        assertEquals(3 * (1 + 17), lineCount);
+        assertEquals(TIME_COLUMN_WIDTH + WIDTH_PER_DAY - GRID_RADIO, lines[0], 0);
+        assertEquals(0, lines[1], 0);
+        assertEquals(HEIGHT, lines[3], 0);
+    }
+
+    @Test
+    public void cutsTheHourLinesOfAPartlyHiddenColumn() {
+        GridLines gridLines = new GridLines();
+
+        gridLines.computeDayLines(TIME_COLUMN_WIDTH - 40, 2, WIDTH_PER_DAY, TIME_COLUMN_WIDTH, GRID_RADIO, HEIGHT, HEADER_HEIGHT, 50, MIN_HOUR_TOP);
+        float[] lines = gridLines.getLines();
+
+        // The first hour line of the first column starts at the time column, at 1 o'clock.
+        assertEquals(TIME_COLUMN_WIDTH, lines[4], 0);
+        assertEquals(HEADER_HEIGHT + 50, lines[5], 0);
+        assertEquals(TIME_COLUMN_WIDTH + 60, lines[6], 0);
+    }
+
+    @Test
+    public void limitsTheHourLinesToABandOfADayTile() {
+        GridLines gridLines = new GridLines();
+        float gridThickness = 2 * GRID_RADIO;
+        float bandTop = HEADER_HEIGHT;
+        float bandBottom = HEIGHT;
+
+        // The first band: midnight is left out, 18 o'clock is on the bottom edge.
+        float firstHourTop = HEADER_HEIGHT;
+        int lineCount = gridLines.computeDayLines(TIME_COLUMN_WIDTH, 1, WIDTH_PER_DAY, TIME_COLUMN_WIDTH, GRID_RADIO, bandBottom + gridThickness, firstHourTop, 50, Math.max(bandTop - gridThickness, firstHourTop));
+
+        assertEquals(1 + 18, lineCount);
+
+        // The second band starts 900 pixels below midnight: 18 o'clock is on its top edge.
+        firstHourTop = HEADER_HEIGHT - (HEIGHT - HEADER_HEIGHT);
+        lineCount = gridLines.computeDayLines(TIME_COLUMN_WIDTH, 1, WIDTH_PER_DAY, TIME_COLUMN_WIDTH, GRID_RADIO, bandBottom + gridThickness, firstHourTop, 50, Math.max(bandTop - gridThickness, firstHourTop));
+        float[] lines = gridLines.getLines();
+
+        assertEquals(1 + 6, lineCount);
+        assertEquals(bandTop, lines[5], 0);
+        assertEquals(TIME_COLUMN_WIDTH + WIDTH_PER_DAY, lines[6], 0);
+    }
+}
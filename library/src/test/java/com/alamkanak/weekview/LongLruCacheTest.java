@@ -0,0 +1,132 @@
+package com.alamkanak.weekview;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class LongLruCacheTest {
+
+    @Test
+    public void evictsTheLeastRecentlyUsedValueFirst() {
+        RecordingCache cache = new RecordingCache(3);
+        cache.put(1, "a");
+        cache.put(2, "b");
+        cache.put(3, "c");
+
+        // Using 1 makes 2 the least recently used value.
+        assertEquals("a", cache.get(1));
+        cache.put(4, "d");
+
+        assertNull(cache.get(2));
+        assertEquals("a", cache.get(1));
+        assertEquals("c", cache.get(3));
+        assertEquals("d", cache.get(4));
+        assertEquals(1, cache.evictionCount());
+        assertEquals("[2=b]", cache.removed.toString());
+    }
+
+    @Test
+    public void evictsUntilTheSizesFit() {
+        LongLruCache<String> cache = new LongLruCache<String>(5) {
+            @Override
+            protected int sizeOf(long key, String value) {
+                return value.length();
+            }
+        };
+        cache.put(1, "aa");
+        cache.put(2, "bb");
+        cache.put(3, "cccc");
+
+        assertEquals(1, cache.count());
+        assertEquals(4, cache.size());
+        assertEquals(2, cache.evictionCount());
+        assertEquals("cccc", cache.get(3));
+    }
+
+    @Test
+    public void replacesTheValueOfAKey() {
+        RecordingCache cache = new RecordingCache(2);
+        cache.put(1, "a");
+        cache.put(2, "b");
+        cache.put(1, "c");
+
+        // The replaced value is reported, but not as an eviction, and 1 is the most recent again.
+        assertEquals(2, cache.count());
+        assertEquals(0, cache.evictionCount());
+        assertEquals("[1=a]", cache.removed.toString());
+
+        cache.put(3, "d");
+
+        assertNull(cache.get(2));
+        assertEquals("c", cache.get(1));
+    }
+
+    @Test
+    public void listsTheKeysInAscendingOrder() {
+        LongLruCache<String> cache = new LongLruCache<>(10);
+        long[] keys = {42L << 32, -7, 3, (5L << 32) | 1, 0};
+
+        for (long key : keys) {
+            cache.put(key, String.valueOf(key));
+        }
+
+        cache.remove(3);
+
+        assertEquals(4, cache.count());
+        assertEquals(-7, cache.keyAt(0));
+        assertEquals(0, cache.keyAt(1));
+        assertEquals((5L << 32) | 1, cache.keyAt(2));
+        assertEquals(42L << 32, cache.keyAt(3));
+    }
+
+    @Test
+    public void countsHitsAndMisses() {
+        LongLruCache<String> cache = new LongLruCache<>(2);
+        cache.put(1, "a");
+
+        cache.get(1);
+        cache.get(1);
+        cache.get(2);
+
+        assertEquals(2, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    public void evictsAllTheValues() {
+        RecordingCache cache = new RecordingCache(3);
+        cache.put(1, "a");
+        cache.put(2, "b");
+        cache.get(1);
+
+        cache.evictAll();
+
+        // The values are dropped from the least recently used one.
+        assertEquals(0, cache.count());
+        assertEquals(0, cache.size());
+        assertEquals("[2=b, 1=a]", cache.removed.toString());
+        assertNull(cache.get(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAnEmptyMaximumSize() {
+        new LongLruCache<String>(0);
+    }
+
+    private static class RecordingCache extends LongLruCache<String> {
+        final List<String> removed = new ArrayList<>();
+
+        RecordingCache(int maxSize) {
+            super(maxSize);
+        }
+
+        @Override
+        protected void entryRemoved(long key, String oldValue) {
+            removed.add(key + "=" + oldValue);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.alamkanak.weekview;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class OverviewLayoutTest {
+
+    private static final float WIDTH = 700;
+    private static final float HEIGHT = 1050;
+    private static final float HEADER_HEIGHT = 50;
+    private static final int WEEK_COUNT = 5;
+    // A Monday, 2017-03-06.
+    private static final int TODAY_WEEK_START = 17231;
+
+    @Test
+    public void showsAllTheEventsWhichFit() {
+        assertEquals(0, OverviewLayout.getShownEventCount(0, 3));
+        assertEquals(2, OverviewLayout.getShownEventCount(2, 3));
+        assertEquals(3, OverviewLayout.getShownEventCount(3, 3));
+    }
+
+    @Test
+    public void countsTheOtherEventsInTheLastLine() {
+        // 2 events and "+2 more".
+        assertEquals(2, OverviewLayout.getShownEventCount(4, 3));
+
+        // A single line only has room for "+5 more".
+        assertEquals(0, OverviewLayout.getShownEventCount(5, 1));
+        assertEquals(0, OverviewLayout.getShownEventCount(5, 0));
+    }
+
+    @Test
+    public void fitsTheLinesBelowTheDayNumber() {
+        OverviewLayout layout = new OverviewLayout();
+        layout.update(WIDTH, HEIGHT, HEADER_HEIGHT, WEEK_COUNT, 0, TODAY_WEEK_START);
+
+        // The rows are 200 pixels high.
+        assertEquals(200, layout.getRowHeight(), 0);
+        assertEquals(5, layout.getLineCount(40, 2, 30));
+        assertEquals(6, layout.getLineCount(20, 0, 30));
+    }
+
+    @Test
+    public void putsAllDayEventsFirstAndTheOthersByTime() {
+        EventLayout.Item late = new EventLayout.Item(5, 9, 0, false);
+        EventLayout.Item early = new EventLayout.Item(1, 9, 0, false);
+        EventLayout.Item earlyShort = new EventLayout.Item(1, 3, 0, false);
+        EventLayout.Item allDay = new EventLayout.Item(7, 8, 0, true);
+        EventLayout.Item sameAsEarly = new EventLayout.Item(1, 9, 0, false);
+        EventLayout.Item[] items = {late, early, earlyShort, allDay, sameAsEarly};
+
+        OverviewLayout.sortEvents(items);
+
+        assertSame(allDay, items[0]);
+        assertSame(earlyShort, items[1]);
+        assertSame(early, items[2]);
+        assertSame(sameAsEarly, items[3]);
+        assertSame(late, items[4]);
+    }
+
+    @Test
+    public void findsTheStartOfTheWeek() {
+        // 2017-03-08 was a Wednesday, the epoch day 0 a Thursday.
+        assertEquals(17231, OverviewLayout.getWeekStart(17233, Calendar.MONDAY));
+        assertEquals(17230, OverviewLayout.getWeekStart(17233, Calendar.SUNDAY));
+        assertEquals(17231, OverviewLayout.getWeekStart(17231, Calendar.MONDAY));
+        assertEquals(-3, OverviewLayout.getWeekStart(0, Calendar.MONDAY));
+        assertEquals(-3, OverviewLayout.getWeekStart(-1, Calendar.MONDAY));
+        assertEquals(-10, OverviewLayout.getWeekStart(-4, Calendar.MONDAY));
+        assertEquals(0, OverviewLayout.getWeekStart(6, Calendar.THURSDAY));
+    }
+
+    @Test
+    public void startsAtTheWeekOfToday() {
+        OverviewLayout layout = new OverviewLayout();
+
+        assertTrue(layout.update(WIDTH, HEIGHT, HEADER_HEIGHT, WEEK_COUNT, 0, TODAY_WEEK_START));
+        assertEquals(100, layout.getCellWidth(), 0);
+        assertEquals(TODAY_WEEK_START, layout.getFirstDay());
+        assertEquals(6 * 7, layout.getCellCount());
+        assertEquals(300, layout.getCellLeft(10), 0);
+        assertEquals(HEADER_HEIGHT + 200, layout.getCellTop(10), 0);
+    }
+
+    @Test
+    public void scrollsByWholeWeeks() {
+        OverviewLayout layout = new OverviewLayout();
+
+        // Scrolled up by a week and a half: the week before last is partly visible at the top.
+        layout.update(WIDTH, HEIGHT, HEADER_HEIGHT, WEEK_COUNT, 300, TODAY_WEEK_START);
+
+        assertEquals(TODAY_WEEK_START - 14, layout.getFirstDay());
+        assertEquals(HEADER_HEIGHT - 100, layout.getCellTop(0), 0);
+        assertTrue(layout.isCellVisible(0));
+        assertTrue(layout.isCellVisible(5 * 7));
+
+        // Scrolled down by a row exactly: the last row is below the view.
+        layout.update(WIDTH, HEIGHT, HEADER_HEIGHT, WEEK_COUNT, -200, TODAY_WEEK_START);
+
+        assertEquals(TODAY_WEEK_START + 7, layout.getFirstDay());
+        assertTrue(layout.isCellVisible(4 * 7 + 6));
+        assertFalse(layout.isCellVisible(5 * 7));
+    }
+
+    @Test
+    public void snapsToTheNearestWeek() {
+        OverviewLayout layout = new OverviewLayout();
+        layout.update(WIDTH, HEIGHT, HEADER_HEIGHT, WEEK_COUNT, 0, TODAY_WEEK_START);
+
+        assertEquals(0, layout.getNearestWeekOffset(-400));
+        assertEquals(-60, layout.getNearestWeekOffset(-460));
+        assertEquals(90, layout.getNearestWeekOffset(-510));
+        assertEquals(TODAY_WEEK_START + 14, layout.getNearestWeekStart(-460, TODAY_WEEK_START));
+        assertEquals(TODAY_WEEK_START + 21, layout.getNearestWeekStart(-510, TODAY_WEEK_START));
+        assertEquals(-600, layout.getWeekOriginY(TODAY_WEEK_START + 21, TODAY_WEEK_START), 0);
+        assertEquals(400, layout.getWeekOriginY(TODAY_WEEK_START - 14, TODAY_WEEK_START), 0);
+    }
+
+    @Test
+    public void findsTheCellAtAPoint() {
+        OverviewLayout layout = new OverviewLayout();
+        layout.update(WIDTH, HEIGHT, HEADER_HEIGHT, WEEK_COUNT, 300, TODAY_WEEK_START);
+
+        // The first row starts 100 pixels above the header row.
+        assertEquals(-1, layout.getCellAtPoint(50, HEADER_HEIGHT - 1));
+        assertEquals(0, layout.getCellAtPoint(50, HEADER_HEIGHT));
+        assertEquals(7 + 6, layout.getCellAtPoint(WIDTH - 1, HEADER_HEIGHT + 100));
+        assertEquals(-1, layout.getCellAtPoint(-150, HEADER_HEIGHT + 100));
+        assertEquals(-1, layout.getCellAtPoint(WIDTH, HEADER_HEIGHT + 100));
+    }
+
+    @Test
+    public void leavesNoCellsInAViewWithoutRoom() {
+        OverviewLayout layout = new OverviewLayout();
+
+        assertFalse(layout.update(WIDTH, HEADER_HEIGHT, HEADER_HEIGHT, WEEK_COUNT, 0, TODAY_WEEK_START));
+        assertEquals(-1, layout.getCellAtPoint(50, HEADER_HEIGHT + 10));
+        assertEquals(0, layout.getNearestWeekOffset(-30));
+    }
+
+    @Test
+    public void drawsTheDaySeparatorsAndTheWeekLines() {
+        OverviewLayout layout = new OverviewLayout();
+        GridLines gridLines = new GridLines();
+        layout.update(WIDTH, HEIGHT, HEADER_HEIGHT, WEEK_COUNT, 300, TODAY_WEEK_START);
+
+        int lineCount = layout.computeGridLines(gridLines, 1);
+        float[] lines = gridLines.getLines();
+
+        assertEquals(6 + WEEK_COUNT + 1, lineCount);
+        assertEquals(99, lines[0], 0);
+        assertEquals(HEADER_HEIGHT, lines[1], 0);
+        assertEquals(HEIGHT, lines[3], 0);
+
+        // The first week line is at the bottom of the first row.
+        assertEquals(0, lines[24], 0);
+        assertEquals(HEADER_HEIGHT + 100 - 1, lines[25], 0);
+        assertEquals(WIDTH, lines[26], 0);
+    }
+}
@@ -0,0 +1,107 @@
+package com.alamkanak.weekview;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ResourceColumnsTest {
+
+    private static final float WIDTH_PER_DAY = 100;
+    private static final int VISIBLE_COUNT = 3;
+    private static final int COUNT = 10;
+
+    @Test
+    public void findsTheVisibleColumns() {
+        assertEquals(0, ResourceColumns.getFirstVisibleColumn(0, WIDTH_PER_DAY));
+        assertEquals(3, ResourceColumns.getLastVisibleColumn(0, WIDTH_PER_DAY, VISIBLE_COUNT, COUNT));
+
+        // Scrolled by two columns and a half: the third column is partly visible.
+        assertEquals(2, ResourceColumns.getFirstVisibleColumn(-250, WIDTH_PER_DAY));
+        assertEquals(5, ResourceColumns.getLastVisibleColumn(-250, WIDTH_PER_DAY, VISIBLE_COUNT, COUNT));
+
+        // The last columns are at the right.
+        assertEquals(7, ResourceColumns.getFirstVisibleColumn(-700, WIDTH_PER_DAY));
+        assertEquals(9, ResourceColumns.getLastVisibleColumn(-700, WIDTH_PER_DAY, VISIBLE_COUNT, COUNT));
+    }
+
+    @Test
+    public void scrollsUpToTheLastColumn() {
+        assertEquals(-700, ResourceColumns.getMinOriginX(COUNT, VISIBLE_COUNT, WIDTH_PER_DAY), 0);
+        assertEquals(0, ResourceColumns.getMinOriginX(VISIBLE_COUNT, VISIBLE_COUNT, WIDTH_PER_DAY), 0);
+        assertEquals(0, ResourceColumns.getMinOriginX(1, VISIBLE_COUNT, WIDTH_PER_DAY), 0);
+    }
+
+    @Test
+    public void findsTheColumnAtAPosition() {
+        assertEquals(0, ResourceColumns.getColumnAt(0, 0, WIDTH_PER_DAY, COUNT));
+        assertEquals(3, ResourceColumns.getColumnAt(50, -250, WIDTH_PER_DAY, COUNT));
+        assertEquals(-1, ResourceColumns.getColumnAt(-1, 0, WIDTH_PER_DAY, COUNT));
+        assertEquals(-1, ResourceColumns.getColumnAt(250, -800, WIDTH_PER_DAY, COUNT));
+    }
+
+    @Test
+    public void loadsTheVisibleColumnsOnlyOnce() {
+        ResourceColumns<String> columns = new ResourceColumns<>();
+
+        assertArrayEquals(new int[]{0, 1, 2, 3}, findColumnsToLoad(columns, 0));
+
+        columns.setPending(new int[]{0, 1});
+        columns.put(2, "c");
+        assertArrayEquals(new int[]{3}, findColumnsToLoad(columns, 0));
+
+        // Scrolled by two columns: only the new ones are loaded.
+        columns.setPending(new int[]{3});
+        assertArrayEquals(new int[]{4}, findColumnsToLoad(columns, -150));
+    }
+
+    @Test
+    public void publishesOnlyTheCurrentLoads() {
+        ResourceColumns<String> columns = new ResourceColumns<>();
+        int[] load = {0, 1};
+        int generation = columns.getGeneration();
+        columns.setPending(load);
+
+        assertTrue(columns.finishLoad(generation, load));
+        assertArrayEquals(new int[]{0, 1, 2, 3}, findColumnsToLoad(columns, 0));
+
+        // A load which was cancelled in the meantime leaves its columns pending for the next one.
+        columns.setPending(load);
+        columns.cancelLoads();
+        columns.setPending(load);
+
+        assertFalse(columns.finishLoad(generation, load));
+        assertArrayEquals(new int[]{2, 3}, findColumnsToLoad(columns, 0));
+    }
+
+    @Test
+    public void loadsRemovedColumnsAgain() {
+        ResourceColumns<String> columns = new ResourceColumns<>();
+        columns.put(1, "b");
+        columns.put(2, "c");
+
+        columns.remove(1);
+        assertNull(columns.get(1));
+        assertEquals("c", columns.get(2));
+        assertArrayEquals(new int[]{0, 1, 3}, findColumnsToLoad(columns, 0));
+
+        columns.cancelLoads();
+        assertEquals("c", columns.get(2));
+
+        columns.clear();
+        assertNull(columns.get(2));
+        assertNull(columns.get(-1));
+        assertNull(columns.get(COUNT));
+    }
+
+    private static int[] findColumnsToLoad(ResourceColumns<?> columns, float originX) {
+        int columnCount = columns.findColumnsToLoad(originX, WIDTH_PER_DAY, VISIBLE_COUNT, COUNT);
+
+        return Arrays.copyOf(columns.getColumnsToLoad(), columnCount);
+    }
+}
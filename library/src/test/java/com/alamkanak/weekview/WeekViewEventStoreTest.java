@@ -0,0 +1,148 @@
+package com.alamkanak.weekview;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import static com.alamkanak.weekview.WeekViewEventTest.time;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class WeekViewEventStoreTest {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+    private static final long HOUR_IN_MILLIS = 60 * WeekViewUtil.MINUTE_IN_MILLIS;
+
+    @Test
+    public void createsEventsWithTheStoredFields() {
+        WeekViewEventStore store = new WeekViewEventStore(1);
+        long start = time(UTC, 2017, Calendar.MARCH, 6, 9, 0).getTimeInMillis();
+        store.add(7, "Meeting", "Room 1", start, start + HOUR_IN_MILLIS, 0xff00ff00, false);
+        store.add(8, null, null, start, start + 2 * HOUR_IN_MILLIS, 0xffff0000, true);
+        store.setDrawableId(1, 42);
+        store.setResourceId(1, 3);
+
+        WeekViewEvent event = store.get(0);
+        WeekViewEvent allDayEvent = store.get(1);
+
+        assertEquals(2, store.size());
+        assertEquals(7, event.getId());
+        assertEquals("Meeting", event.getName());
+        assertEquals("Room 1", event.getLocation());
+        assertEquals(start, event.getStartTimeInMillis());
+        assertEquals(start + HOUR_IN_MILLIS, event.getEndTimeInMillis());
+        assertEquals(0xff00ff00, event.getColor());
+        assertFalse(event.isAllDay());
+        assertFalse(event.hasDrawable());
+        assertNull(allDayEvent.getName());
+        assertNull(allDayEvent.getLocation());
+        assertTrue(allDayEvent.isAllDay());
+        assertEquals(42, allDayEvent.getDrawableId());
+        assertEquals(3, allDayEvent.getResourceId());
+    }
+
+    @Test
+    public void copiesAddedEvents() {
+        WeekViewEvent event = new WeekViewEvent(5, "Lunch", "Canteen", time(UTC, 2017, Calendar.MARCH, 6, 12, 0), time(UTC, 2017, Calendar.MARCH, 6, 13, 0));
+        event.setColor(0xff0000ff);
+        event.setResourceId(9);
+        WeekViewEventStore store = new WeekViewEventStore();
+        store.add(event);
+
+        WeekViewEventStore copy = new WeekViewEventStore();
+        copy.add(store, 0);
+        WeekViewEvent copied = copy.get(0);
+
+        assertEquals(event, copied);
+        assertEquals("Lunch", copied.getName());
+        assertEquals("Canteen", copied.getLocation());
+        assertEquals(event.getStartTimeInMillis(), copied.getStartTimeInMillis());
+        assertEquals(event.getEndTimeInMillis(), copied.getEndTimeInMillis());
+        assertEquals(0xff0000ff, copied.getColor());
+        assertEquals(9, copied.getResourceId());
+    }
+
+    @Test
+    public void keepsTheEndOfTypeTwoEvents() {
+        WeekViewEventStore store = new WeekViewEventStore();
+        long start = time(UTC, 2017, Calendar.MARCH, 6, 9, 0).getTimeInMillis();
+        store.add(1, "Call", null, start, start + HOUR_IN_MILLIS, 0, false);
+
+        store.setType(0, 2);
+        WeekViewEvent event = store.get(0);
+
+        assertEquals(2, event.getType());
+        assertEquals(start + 30 * WeekViewUtil.MINUTE_IN_MILLIS, store.getEndTimeInMillis(0));
+        assertEquals(start + 30 * WeekViewUtil.MINUTE_IN_MILLIS, event.getEndTimeInMillis());
+    }
+
+    @Test
+    public void keepsEveryDistinctStringOnce() {
+        WeekViewEventStore store = new WeekViewEventStore();
+        store.add(1, new String("Meeting"), new String("Room 1"), 0, HOUR_IN_MILLIS, 0, false);
+        store.add(2, new String("Meeting"), new String("Room 2"), 0, HOUR_IN_MILLIS, 0, false);
+        store.add(3, new String("Room 1"), null, 0, HOUR_IN_MILLIS, 0, false);
+
+        assertSame(store.getName(0), store.getName(1));
+        assertSame(store.getLocation(0), store.getName(2));
+        assertEquals("Room 2", store.getLocation(1));
+    }
+
+    @Test
+    public void ordersTheEventsByStartAndEnd() {
+        WeekViewEventStore store = new WeekViewEventStore();
+        store.add(0, "c", null, 3 * HOUR_IN_MILLIS, 4 * HOUR_IN_MILLIS, 0, false);
+        store.add(1, "a", null, HOUR_IN_MILLIS, 3 * HOUR_IN_MILLIS, 0, false);
+        store.add(2, "b", null, HOUR_IN_MILLIS, 2 * HOUR_IN_MILLIS, 0, false);
+        store.add(3, "a2", null, HOUR_IN_MILLIS, 3 * HOUR_IN_MILLIS, 0, false);
+
+        int[] order = store.getSortedOrder();
+
+        // Events with the same times keep the order in which they were added.
+        assertArrayEquals(new int[]{2, 1, 3, 0}, order);
+        assertSame(order, store.getSortedOrder());
+
+        store.setType(1, 2);
+
+        assertArrayEquals(new int[]{1, 2, 3, 0}, store.getSortedOrder());
+    }
+
+    @Test
+    public void computesTheDaysOfTheEventsAgainWhenTheyChange() {
+        WeekViewEventStore store = new WeekViewEventStore();
+        long start = time(UTC, 2017, Calendar.MARCH, 6, 22, 0).getTimeInMillis();
+        store.add(1, "Night", null, start, start + 4 * HOUR_IN_MILLIS, 0, false);
+        store.add(2, "Late", null, start, start + HOUR_IN_MILLIS, 0, false);
+        Calendar calendar = Calendar.getInstance(UTC);
+
+        DaySpan daySpan = store.getDaySpan(0, calendar);
+
+        assertEquals(daySpan.startDay + 1, daySpan.endDay);
+        assertTrue(store.getDaySpan(1, calendar).isSingleDay());
+        assertSame(daySpan, store.getDaySpan(0, calendar));
+
+        store.setType(0, 2);
+        DaySpan changedDaySpan = store.getDaySpan(0, calendar);
+
+        assertTrue(changedDaySpan.isSingleDay());
+        assertEquals(start + 30 * WeekViewUtil.MINUTE_IN_MILLIS, changedDaySpan.endMillis);
+
+        // Another time zone moves the days.
+        Calendar tokyo = Calendar.getInstance(TimeZone.getTimeZone("Asia/Tokyo"));
+
+        assertEquals(daySpan.startDay + 1, store.getDaySpan(1, tokyo).startDay);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rejectsAnIndexOutOfTheStore() {
+        WeekViewEventStore store = new WeekViewEventStore();
+        store.add(1, "a", null, 0, HOUR_IN_MILLIS, 0, false);
+
+        store.get(1);
+    }
+}
@@ -0,0 +1,39 @@
+package com.alamkanak.weekview;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+public class WeekViewEventTest {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    @Test
+    public void readsTheTimesAgainFromModifiedCalendars() {
+        Calendar startTime = time(UTC, 2017, Calendar.MARCH, 6, 9, 0);
+        Calendar endTime = time(UTC, 2017, Calendar.MARCH, 6, 10, 0);
+        WeekViewEvent event = new WeekViewEvent(1, "Meeting", startTime, endTime);
+
+        startTime.add(Calendar.DATE, 1);
+        endTime.add(Calendar.DATE, 1);
+        endTime.add(Calendar.MINUTE, 30);
+        event.updateTimes();
+
+        assertEquals(startTime.getTimeInMillis(), event.getStartTimeInMillis());
+        assertEquals(endTime.getTimeInMillis(), event.getEndTimeInMillis());
+        assertEquals(WeekViewUtil.toEpochDay(startTime), event.getStartEpochDay());
+        assertEquals(9 * 60, event.getStartMinuteOfDay());
+        assertEquals(90, event.getDuration());
+    }
+
+    static Calendar time(TimeZone timeZone, int year, int month, int day, int hour, int minute) {
+        Calendar calendar = Calendar.getInstance(timeZone);
+        calendar.clear();
+        calendar.set(year, month, day, hour, minute);
+
+        return calendar;
+    }
+}
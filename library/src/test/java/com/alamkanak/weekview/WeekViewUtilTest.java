@@ -0,0 +1,161 @@
+package com.alamkanak.weekview;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WeekViewUtilTest {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    @Test
+    public void findsTheFirstDayOfAPeriodFromEitherSide() {
+        CountingLoader loader = new CountingLoader(new MonthLoader(null));
+        Calendar calendar = Calendar.getInstance(UTC);
+        // 2016-01-01.
+        int firstDay = 16801;
+
+        for (int period = 2016 * 12; period < 2019 * 12; period++) {
+            int expected = findFirstDayLinearly(loader, period, firstDay - 31, calendar);
+
+            for (int nearDay = expected - 400; nearDay <= expected + 400; nearDay += 37) {
+                assertEquals("period " + period + " from day " + nearDay, expected, WeekViewUtil.findFirstDayOfPeriod(loader, period, nearDay, calendar));
+            }
+
+            // Right at the start and just before it.
+            assertEquals(expected, WeekViewUtil.findFirstDayOfPeriod(loader, period, expected, calendar));
+            assertEquals(expected, WeekViewUtil.findFirstDayOfPeriod(loader, period, expected - 1, calendar));
+        }
+    }
+
+    @Test
+    public void asksTheLoaderALogarithmicNumberOfTimes() {
+        CountingLoader loader = new CountingLoader(new MonthLoader(null));
+        Calendar calendar = Calendar.getInstance(UTC);
+        int period = 2017 * 12 + Calendar.MARCH;
+
+        int firstDay = WeekViewUtil.findFirstDayOfPeriod(loader, period, 0, calendar);
+
+        assertEquals(findFirstDayLinearly(loader, period, firstDay - 40, calendar), firstDay);
+
+        // 47 years away: 15 doublings and 14 halvings, plus the first day.
+        loader.count = 0;
+        WeekViewUtil.findFirstDayOfPeriod(loader, period, 0, calendar);
+        assertTrue("asked " + loader.count + " times", loader.count <= 2 * 15 + 1);
+
+        // 3 days away: 3 doublings and 2 halvings, plus the first day.
+        loader.count = 0;
+        WeekViewUtil.findFirstDayOfPeriod(loader, period, firstDay + 3, calendar);
+        assertTrue("asked " + loader.count + " times", loader.count <= 2 * 3 + 1);
+    }
+
+    @Test
+    public void givesUpOnAPeriodTooFarAway() {
+        WeekViewLoader loader = new CountingLoader(new WeekViewLoader() {
+            @Override
+            public double toWeekViewPeriodIndex(Calendar instance) {
+                return 0;
+            }
+
+            @Override
+            public List<? extends WeekViewEvent> onLoad(int periodIndex) {
+                return null;
+            }
+        });
+        Calendar calendar = Calendar.getInstance(UTC);
+
+        assertEquals(Integer.MAX_VALUE, WeekViewUtil.findFirstDayOfPeriod(loader, 1, 0, calendar));
+        assertEquals(Integer.MIN_VALUE, WeekViewUtil.findFirstDayOfPeriod(loader, 0, 0, calendar));
+    }
+
+    @Test
+    public void sortsIndexesLikeAStableSort() {
+        Random random = new Random(42);
+
+        for (int round = 0; round < 1000; round++) {
+            int length = random.nextInt(40);
+            final long[] primaryKeys = new long[length];
+            final long[] secondaryKeys = new long[length];
+            int[] indexes = new int[length];
+            List<Integer> expected = new ArrayList<>();
+
+            // Few distinct keys, so that many indexes have equal keys.
+            for (int i = 0; i < length; i++) {
+                primaryKeys[i] = random.nextInt(5) - 2;
+                secondaryKeys[i] = random.nextInt(3);
+                indexes[i] = length - 1 - i;
+                expected.add(length - 1 - i);
+            }
+
+            Collections.sort(expected, new Comparator<Integer>() {
+                @Override
+                public int compare(Integer index1, Integer index2) {
+                    if (primaryKeys[index1] != primaryKeys[index2]) {
+                        return primaryKeys[index1] < primaryKeys[index2] ? -1 : 1;
+                    }
+
+                    return secondaryKeys[index1] < secondaryKeys[index2] ? -1 : (secondaryKeys[index1] > secondaryKeys[index2] ? 1 : 0);
+                }
+            });
+
+            WeekViewUtil.sortIndexes(indexes, primaryKeys, secondaryKeys);
+
+            assertEquals("round " + round, expected.toString(), Arrays.toString(indexes));
+        }
+    }
+
+    @Test
+    public void keepsTheOrderOfIndexesWithEqualKeys() {
+        int[] indexes = {3, 0, 2, 1};
+
+        WeekViewUtil.sortIndexes(indexes, new long[]{1, 0, 1, 0}, new long[]{0, 0, 0, 0});
+
+        assertArrayEquals(new int[]{3, 1, 0, 2}, indexes);
+    }
+
+    private static int findFirstDayLinearly(WeekViewLoader loader, int period, int fromDay, Calendar calendar) {
+        int day = fromDay;
+
+        while (true) {
+            WeekViewUtil.setEpochDay(calendar, day);
+
+            if ((int) loader.toWeekViewPeriodIndex(calendar) >= period) {
+                return day;
+            }
+
+            day++;
+        }
+    }
+
+    private static class CountingLoader implements WeekViewLoader {
+        private final WeekViewLoader mLoader;
+        int count;
+
+        CountingLoader(WeekViewLoader loader) {
+            this.mLoader = loader;
+        }
+
+        @Override
+        public double toWeekViewPeriodIndex(Calendar instance) {
+            count++;
+
+            return mLoader.toWeekViewPeriodIndex(instance);
+        }
+
+        @Override
+        public List<? extends WeekViewEvent> onLoad(int periodIndex) {
+            return mLoader.onLoad(periodIndex);
+        }
+    }
+}